@@ -0,0 +1,21 @@
+package com.example.personal_finance_tracker.app.config;
+
+import com.example.personal_finance_tracker.app.security.ApiQuotaInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ApiQuotaConfig implements WebMvcConfigurer {
+
+    private final ApiQuotaInterceptor apiQuotaInterceptor;
+
+    public ApiQuotaConfig(ApiQuotaInterceptor apiQuotaInterceptor) {
+        this.apiQuotaInterceptor = apiQuotaInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(apiQuotaInterceptor).addPathPatterns("/api/**");
+    }
+}
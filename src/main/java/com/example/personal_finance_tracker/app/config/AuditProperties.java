@@ -0,0 +1,46 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Asynchronous audit log writer, bound from {@code app.audit.*}. Events are buffered in memory
+ * and written by a single background thread in JDBC batches of up to {@code batchSize} rows.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.audit")
+public class AuditProperties {
+
+    // Rounded up to a power of two
+    private int bufferCapacity = 8192;
+
+    private int batchSize = 500;
+
+    // More events of one entity and method in a transaction are recorded as a single summary row
+    private int coalesceThreshold = 100;
+
+    // How long the writer sleeps when the buffer is empty
+    private Duration idleWait = Duration.ofMillis(100);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+    // BLOCK only: longest a producer waits for space before the event is dropped
+    private Duration blockTimeout = Duration.ofMillis(50);
+
+    // Whole daily partitions older than this are dropped
+    private Duration retention = Duration.ofDays(90);
+
+    // Longest the shutdown waits for buffered events to be written
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    public enum OverflowPolicy {
+        // Wait up to blockTimeout for the writer to make room, then drop the new event
+        BLOCK,
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+}
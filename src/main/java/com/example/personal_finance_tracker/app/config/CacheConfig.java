@@ -1,6 +1,9 @@
 package com.example.personal_finance_tracker.app.config;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
@@ -8,33 +11,91 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+@Slf4j
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private static final String LOADER_SUFFIX = "CacheLoader";
+
+    private static final List<String> CACHE_NAMES = Arrays.asList(
+            "userById",
+            "userByUsername",
+            "allUsers",
+            "usernameById",
+            "userIdByUsername",
+            "userAuthorities",
+            "userDashboard"
+    );
+
+    // List caches are bounded by element count rather than by number of entries
+    private static final Weigher<Object, Object> ELEMENT_COUNT_WEIGHER = (key, value) ->
+            value instanceof Collection<?> collection ? Math.max(1, collection.size()) : 1;
+
     @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .initialCapacity(50)
-                .maximumSize(1000)
-                .expireAfterWrite(30, TimeUnit.MINUTES)
-                .recordStats();
+    public Caffeine<Object, Object> caffeineConfig(CachePolicyProperties properties) {
+        return builder(properties.getDefaults());
     }
 
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
+    public CacheManager cacheManager(Caffeine<Object, Object> caffeine,
+                                     CachePolicyProperties properties,
+                                     Map<String, CacheLoader<Object, Object>> cacheLoaders) {
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
         cacheManager.setCaffeine(caffeine);
-        cacheManager.setCacheNames(Arrays.asList(
-                "userById",
-                "userByUsername",
-                "allUsers",
-                "usernameById",
-                "userIdByUsername",
-                "userAuthorities"
-        ));
+        cacheManager.setCacheNames(CACHE_NAMES);
+
+        Set<String> customized = new HashSet<>(properties.getCaches().keySet());
+        cacheLoaders.keySet().stream()
+                .filter(bean -> bean.endsWith(LOADER_SUFFIX))
+                .map(bean -> bean.substring(0, bean.length() - LOADER_SUFFIX.length()))
+                .forEach(customized::add);
+
+        for (String name : customized) {
+            CachePolicyProperties.Policy policy = properties.getCaches().getOrDefault(name, new CachePolicyProperties.Policy());
+            CachePolicyProperties.Policy effective = policy.withDefaults(properties.getDefaults());
+            Caffeine<Object, Object> builder = builder(effective);
+            CacheLoader<Object, Object> loader = cacheLoaders.get(name + LOADER_SUFFIX);
+
+            if (loader != null) {
+                // A loading cache collapses concurrent misses on one key into a single load
+                if (effective.getRefreshAfterWrite() != null) {
+                    builder.refreshAfterWrite(effective.getRefreshAfterWrite());
+                }
+                cacheManager.registerCustomCache(name, builder.build(loader));
+            } else {
+                if (effective.getRefreshAfterWrite() != null) {
+                    log.warn("Ignoring refresh-after-write for cache '{}': no {} bean", name, name + LOADER_SUFFIX);
+                }
+                cacheManager.registerCustomCache(name, builder.build());
+            }
+            log.info("Cache '{}' configured with {} (loader: {})", name, effective, loader != null);
+        }
         return cacheManager;
     }
+
+    private static Caffeine<Object, Object> builder(CachePolicyProperties.Policy policy) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+        if (policy.getInitialCapacity() != null) {
+            builder.initialCapacity(policy.getInitialCapacity());
+        }
+        if (policy.getMaximumWeight() != null) {
+            builder.maximumWeight(policy.getMaximumWeight()).weigher(ELEMENT_COUNT_WEIGHER);
+        } else if (policy.getMaximumSize() != null) {
+            builder.maximumSize(policy.getMaximumSize());
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        return builder;
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caffeine policies per cache, bound from {@code app.cache.defaults.*} and {@code app.cache.caches.<name>.*}.
+ * Unset values of a named cache fall back to the defaults.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CachePolicyProperties {
+
+    private Policy defaults = new Policy();
+
+    private Map<String, Policy> caches = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+        private Integer initialCapacity;
+        private Long maximumSize;
+        // Weighted limit; collection values weigh their element count
+        private Long maximumWeight;
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        // Only honoured for caches that have a CacheLoader bean named "<cacheName>CacheLoader"
+        private Duration refreshAfterWrite;
+
+        public Policy withDefaults(Policy defaults) {
+            Policy merged = new Policy();
+            merged.initialCapacity = initialCapacity != null ? initialCapacity : defaults.initialCapacity;
+            boolean sizeSet = maximumSize != null || maximumWeight != null;
+            merged.maximumSize = sizeSet ? maximumSize : defaults.maximumSize;
+            merged.maximumWeight = sizeSet ? maximumWeight : defaults.maximumWeight;
+            boolean expirySet = expireAfterWrite != null || expireAfterAccess != null;
+            merged.expireAfterWrite = expirySet ? expireAfterWrite : defaults.expireAfterWrite;
+            merged.expireAfterAccess = expirySet ? expireAfterAccess : defaults.expireAfterAccess;
+            merged.refreshAfterWrite = refreshAfterWrite;
+            return merged;
+        }
+    }
+}
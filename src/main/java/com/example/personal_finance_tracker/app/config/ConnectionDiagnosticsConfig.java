@@ -0,0 +1,32 @@
+package com.example.personal_finance_tracker.app.config;
+
+import com.example.personal_finance_tracker.app.services.ConnectionHoldTracker;
+import com.example.personal_finance_tracker.app.utils.TrackedDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.diagnostics.connections", name = "enabled", havingValue = "true")
+public class ConnectionDiagnosticsConfig {
+
+    // Static so wrapping the DataSource does not pull the tracker in before post-processors are ready.
+    // The pools themselves sit behind the routing DataSource and are tracked there.
+    @Bean
+    public static BeanPostProcessor trackedDataSourcePostProcessor(ObjectProvider<ConnectionHoldTracker> tracker) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof TrackedDataSource)
+                        && !(bean instanceof HikariDataSource)
+                        ? new TrackedDataSource(dataSource, SingletonSupplier.of(tracker::getObject)) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection hold diagnostics, bound from {@code app.diagnostics.connections.*}. When enabled, every
+ * borrowed connection is tracked; only holds longer than {@code hold-threshold} are attributed and
+ * aggregated. Off by default, since each JDBC call then goes through a proxy; the dev profile turns it on.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.diagnostics.connections")
+public class ConnectionDiagnosticsProperties {
+
+    private boolean enabled = false;
+
+    private Duration holdThreshold = Duration.ofSeconds(2);
+
+    // How often open connections are checked against the threshold
+    private long scanIntervalMs = 500;
+
+    // Call sites kept in the report, by total hold time
+    private int topN = 20;
+
+    // Frames kept from the holder's stack
+    private int stackDepth = 25;
+}
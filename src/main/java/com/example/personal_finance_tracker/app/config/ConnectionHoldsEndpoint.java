@@ -0,0 +1,34 @@
+package com.example.personal_finance_tracker.app.config;
+
+import com.example.personal_finance_tracker.app.services.ConnectionHoldTracker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * {@code /actuator/connectionholds}: connections held past the threshold right now, and the call sites
+ * that held them longest since the last reset.
+ */
+@Component
+@Endpoint(id = "connectionholds")
+@RequiredArgsConstructor
+public class ConnectionHoldsEndpoint {
+
+    private final ConnectionHoldTracker tracker;
+
+    @ReadOperation
+    public Map<String, Object> holds() {
+        return tracker.getReport();
+    }
+
+    @DeleteOperation
+    public Map<String, String> reset() {
+        tracker.reset();
+        return Collections.singletonMap("status", "Connection hold statistics reset");
+    }
+}
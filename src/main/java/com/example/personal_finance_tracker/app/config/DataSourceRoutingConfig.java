@@ -0,0 +1,55 @@
+package com.example.personal_finance_tracker.app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Two Hikari pools behind one DataSource. Work in a {@code @Transactional(readOnly = true)} transaction
+ * runs on the read pool, everything else on the write pool, so reporting and exports cannot starve
+ * logins and writes of connections.
+ * <p>
+ * The transaction manager borrows the connection before it marks the transaction read-only, so the
+ * routing cannot be decided at borrow time. {@link LazyConnectionDataSourceProxy} defers the physical
+ * borrow to the first statement and takes it from the read pool when the connection has been set
+ * read-only by then. The read pool is sized by {@code app.datasource.read.hikari.*} and uses the
+ * primary URL unless {@code app.datasource.read.hikari.jdbc-url} points it at a replica.
+ */
+@Configuration
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource writeDataSource(DataSourceProperties properties, PoolMetricsTrackerFactory metricsTrackerFactory) {
+        return pool(properties, metricsTrackerFactory);
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read.hikari")
+    public HikariDataSource readDataSource(DataSourceProperties properties, PoolMetricsTrackerFactory metricsTrackerFactory) {
+        return pool(properties, metricsTrackerFactory);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+                                 @Qualifier("readDataSource") HikariDataSource readDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writeDataSource);
+        routing.setReadOnlyDataSource(readDataSource);
+        return routing;
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, PoolMetricsTrackerFactory metricsTrackerFactory) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Set before the pool starts; it also publishes the standard hikaricp.* Micrometer meters
+        pool.setMetricsTrackerFactory(metricsTrackerFactory);
+        return pool;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Outbound mail queue, bound from {@code app.email.queue.*}. A failed send is retried after
+ * {@code initial-backoff}, doubling up to {@code max-backoff}, and dead-lettered after {@code max-attempts}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.email.queue")
+public class EmailQueueProperties {
+
+    // Concurrent SMTP sends
+    private int workers = 2;
+
+    // Safety net; enqueues and retries wake the dispatcher directly
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    private int maxAttempts = 5;
+
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    // A message claimed longer ago than this is assumed lost with its worker and released; keep it well above
+    // the SMTP connection, read and write timeouts so a slow send fails before its message is released
+    private Duration sendingTimeout = Duration.ofMinutes(2);
+
+    // Sent messages are deleted after this
+    private Duration retention = Duration.ofDays(7);
+
+    // Dead letters keep their body so they can be retried, and may carry secrets such as a 2FA setup key,
+    // so they are deleted after this
+    private Duration deadLetterRetention = Duration.ofDays(3);
+
+    private Duration shutdownTimeout = Duration.ofSeconds(10);
+}
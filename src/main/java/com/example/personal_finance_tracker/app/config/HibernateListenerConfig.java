@@ -1,18 +1,21 @@
 package com.example.personal_finance_tracker.app.config;
 
-import com.example.personal_finance_tracker.app.annotations.Loggable;
 import com.example.personal_finance_tracker.app.services.LoggingService;
+import com.example.personal_finance_tracker.app.utils.AuditDescriptor;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.hibernate.event.service.spi.EventListenerRegistry;
 import org.hibernate.event.spi.*;
 import org.hibernate.internal.SessionFactoryImpl;
 import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.HashMap;
+import java.util.Map;
+
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class HibernateListenerConfig {
@@ -20,15 +23,32 @@ public class HibernateListenerConfig {
     private final EntityManagerFactory emf;
     private final LoggingService loggingService;
 
+    // Keyed by Hibernate entity name, which the event's persister carries, so proxies never matter
+    private Map<String, AuditDescriptor> descriptors = Map.of();
+
     @PostConstruct
     public void registerListeners() {
         SessionFactoryImpl sessionFactory = emf.unwrap(SessionFactoryImpl.class);
         EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
 
+        Map<String, AuditDescriptor> loggable = new HashMap<>();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            AuditDescriptor descriptor = AuditDescriptor.of(persister, emf.getPersistenceUnitUtil());
+            if (descriptor != null) {
+                loggable.put(persister.getEntityName(), descriptor);
+            }
+        });
+        descriptors = Map.copyOf(loggable);
+        log.info("Auditing {} entity types", descriptors.size());
+
         registry.getEventListenerGroup(EventType.POST_INSERT).appendListener(new PostInsertEventListener() {
             @Override
             public void onPostInsert(PostInsertEvent event) {
-                logIfNeeded(event.getEntity(), "CREATE", getEntityId(event.getId()), "Entity created");
+                AuditDescriptor descriptor = descriptors.get(event.getPersister().getEntityName());
+                if (descriptor != null) {
+                    loggingService.logDatabaseEvent("CREATE", descriptor.entityName(), getEntityId(event.getId()),
+                            "Entity created", null);
+                }
             }
 
             @Override
@@ -40,7 +60,12 @@ public class HibernateListenerConfig {
         registry.getEventListenerGroup(EventType.POST_UPDATE).appendListener(new PostUpdateEventListener() {
             @Override
             public void onPostUpdate(PostUpdateEvent event) {
-                logIfNeeded(event.getEntity(), "UPDATE", getEntityId(event.getId()), "Entity updated");
+                AuditDescriptor descriptor = descriptors.get(event.getPersister().getEntityName());
+                if (descriptor != null) {
+                    String changes = descriptor.changes(event.getDirtyProperties(), event.getOldState(), event.getState());
+                    loggingService.logDatabaseEvent("UPDATE", descriptor.entityName(), getEntityId(event.getId()),
+                            "Entity updated", changes);
+                }
             }
 
             @Override
@@ -52,7 +77,11 @@ public class HibernateListenerConfig {
         registry.getEventListenerGroup(EventType.POST_DELETE).appendListener(new PostDeleteEventListener() {
             @Override
             public void onPostDelete(PostDeleteEvent event) {
-                logIfNeeded(event.getEntity(), "DELETE", getEntityId(event.getId()), "Entity deleted");
+                AuditDescriptor descriptor = descriptors.get(event.getPersister().getEntityName());
+                if (descriptor != null) {
+                    loggingService.logDatabaseEvent("DELETE", descriptor.entityName(), getEntityId(event.getId()),
+                            "Entity deleted", null);
+                }
             }
 
             @Override
@@ -62,24 +91,7 @@ public class HibernateListenerConfig {
         });
     }
 
-    private void logIfNeeded(Object entity, String method, String entityId, String description) {
-        if (entity.getClass().isAnnotationPresent(Loggable.class)) {
-            String username = getCurrentUsername();
-            String entityName = entity.getClass().getSimpleName();
-
-            loggingService.logDatabaseEvent(username, method, entityName, entityId, description);
-        }
-    }
-
-    private String getCurrentUsername() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            return authentication.getName();
-        }
-        return "system";
-    }
-
     private String getEntityId(Object id) {
         return id != null ? id.toString() : "unknown";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated pool for password verification so that BCrypt work during a login storm
+ * cannot starve the Tomcat request threads serving every other endpoint.
+ */
+@Slf4j
+@Configuration
+public class LoginExecutorConfig {
+
+    @Value("${app.login.executor.threads:0}")
+    private int threads;
+
+    @Value("${app.login.executor.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Bean(name = "loginExecutor", destroyMethod = "shutdown")
+    public ThreadPoolExecutor loginExecutor() {
+        // Default to half the cores: hashing is pure CPU, more threads only add contention
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        log.info("Creating login executor with {} threads and queue capacity {}", poolSize, queueCapacity);
+
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "login-verify-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        // AbortPolicy makes a full queue visible to the caller, which turns it into a 429
+        return new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection pool sizing advisor, bound from {@code app.pool.advisor.*}. The advisor only reports
+ * unless {@code apply} is set, and never sizes the pool outside {@code [min-size, max-size]}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.pool.advisor")
+public class PoolAdvisorProperties {
+
+    private long sampleIntervalMs = 1000;
+
+    // Sliding window the recommendation is computed over
+    private int windowSamples = 300;
+
+    // Fewer samples with traffic than this yield no recommendation
+    private int minSamples = 30;
+
+    private int minSize = 2;
+
+    private int maxSize = 20;
+
+    // Spare connections on top of the observed demand, as a fraction
+    private double headroom = 0.2;
+
+    // Acquisitions slower than this at p99 while threads wait count as evidence of an undersized pool
+    private Duration targetAcquire = Duration.ofMillis(10);
+
+    private boolean apply = false;
+
+    private long applyIntervalMs = 60000;
+
+    // Minimum time between two applied changes
+    private Duration applyCooldown = Duration.ofMinutes(5);
+}
@@ -0,0 +1,27 @@
+package com.example.personal_finance_tracker.app.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Connection pool instrumentation, bound from {@code app.pool.metrics.*}. Histograms are rolled every
+ * {@code interval-ms}; percentiles for the slow-acquire threshold cover the last {@code window-intervals}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.pool.metrics")
+public class PoolMetricsProperties {
+
+    private long intervalMs = 10000;
+
+    private int windowIntervals = 6;
+
+    // An acquisition slower than this percentile of the window is logged
+    private double slowAcquirePercentile = 99.0;
+
+    // ... but never one faster than this, so a warm pool does not log sub-millisecond outliers
+    private Duration slowAcquireFloor = Duration.ofMillis(20);
+}
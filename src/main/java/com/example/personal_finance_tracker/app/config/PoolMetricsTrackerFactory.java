@@ -0,0 +1,150 @@
+package com.example.personal_finance_tracker.app.config;
+
+import com.example.personal_finance_tracker.app.utils.LatencyHistogram;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics without per-connection logging. Every pool event goes to Hikari's Micrometer tracker
+ * ({@code hikaricp.connections.*}, including the pending-threads gauge) and to HDR histograms of
+ * acquire, usage and creation times that back {@code /demo/pool-stats}. Only acquisitions slower than
+ * {@code app.pool.metrics.slow-acquire-percentile} of the recent window are logged.
+ */
+@Slf4j
+@Component
+public class PoolMetricsTrackerFactory implements MetricsTrackerFactory {
+
+    private final PoolMetricsProperties properties;
+    private final MicrometerMetricsTrackerFactory micrometerFactory;
+    private final Map<String, PoolMetrics> pools = new ConcurrentHashMap<>();
+
+    public PoolMetricsTrackerFactory(PoolMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.micrometerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        PoolMetrics metrics = new PoolMetrics(poolName, poolStats, micrometerFactory.create(poolName, poolStats));
+        pools.put(poolName, metrics);
+        return metrics;
+    }
+
+    public PoolMetrics getPool(String poolName) {
+        return pools.get(poolName);
+    }
+
+    @Scheduled(fixedRateString = "${app.pool.metrics.interval-ms:10000}")
+    public void roll() {
+        pools.values().forEach(PoolMetrics::roll);
+    }
+
+    public class PoolMetrics implements IMetricsTracker {
+
+        private final String poolName;
+        private final PoolStats poolStats;
+        private final IMetricsTracker micrometerTracker;
+        private final LatencyHistogram acquireMicros =
+                new LatencyHistogram(TimeUnit.MINUTES.toMicros(1), properties.getWindowIntervals());
+        // Streamed exports can hold a connection for the whole async request timeout
+        private final LatencyHistogram usageMillis =
+                new LatencyHistogram(TimeUnit.HOURS.toMillis(1), properties.getWindowIntervals());
+        private final LatencyHistogram creationMillis =
+                new LatencyHistogram(TimeUnit.MINUTES.toMillis(1), properties.getWindowIntervals());
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder slowAcquisitions = new LongAdder();
+        private volatile long slowAcquireMicros;
+
+        PoolMetrics(String poolName, PoolStats poolStats, IMetricsTracker micrometerTracker) {
+            this.poolName = poolName;
+            this.poolStats = poolStats;
+            this.micrometerTracker = micrometerTracker;
+            this.slowAcquireMicros = floorMicros();
+        }
+
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            micrometerTracker.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedAcquiredNanos);
+            acquireMicros.record(micros);
+            if (micros > slowAcquireMicros) {
+                slowAcquisitions.increment();
+                log.warn("[{}] Slow connection acquisition: {} ms (threshold {} ms), {} threads waiting, {} active of {}",
+                        poolName, micros / 1000.0, slowAcquireMicros / 1000.0, poolStats.getPendingThreads(),
+                        poolStats.getActiveConnections(), poolStats.getTotalConnections());
+            }
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            micrometerTracker.recordConnectionUsageMillis(elapsedBorrowedMillis);
+            usageMillis.record(elapsedBorrowedMillis);
+        }
+
+        @Override
+        public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+            micrometerTracker.recordConnectionCreatedMillis(connectionCreatedMillis);
+            creationMillis.record(connectionCreatedMillis);
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            micrometerTracker.recordConnectionTimeout();
+            timeouts.increment();
+            log.warn("[{}] Connection timeout occurred, {} threads waiting", poolName, poolStats.getPendingThreads());
+        }
+
+        @Override
+        public void close() {
+            micrometerTracker.close();
+            pools.remove(poolName, this);
+        }
+
+        public Map<String, Object> snapshot() {
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("acquireMicros", acquireMicros.snapshot());
+            snapshot.put("usageMillis", usageMillis.snapshot());
+            snapshot.put("creationMillis", creationMillis.snapshot());
+            snapshot.put("timeouts", timeouts.sum());
+            snapshot.put("slowAcquisitions", slowAcquisitions.sum());
+            snapshot.put("slowAcquireThresholdMicros", slowAcquireMicros);
+            return snapshot;
+        }
+
+        public long acquirePercentileMicros(double percentile) {
+            return acquireMicros.windowPercentile(percentile);
+        }
+
+        public void reset() {
+            acquireMicros.reset();
+            usageMillis.reset();
+            creationMillis.reset();
+            timeouts.reset();
+            slowAcquisitions.reset();
+            slowAcquireMicros = floorMicros();
+        }
+
+        void roll() {
+            acquireMicros.roll();
+            usageMillis.roll();
+            creationMillis.roll();
+            slowAcquireMicros = Math.max(floorMicros(), acquireMicros.windowPercentile(properties.getSlowAcquirePercentile()));
+        }
+
+        private long floorMicros() {
+            return TimeUnit.NANOSECONDS.toMicros(properties.getSlowAcquireFloor().toNanos());
+        }
+    }
+}
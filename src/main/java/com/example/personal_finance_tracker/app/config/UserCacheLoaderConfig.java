@@ -0,0 +1,48 @@
+package com.example.personal_finance_tracker.app.config;
+
+import com.example.personal_finance_tracker.app.models.User;
+import com.example.personal_finance_tracker.app.repository.UserRepo;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Loaders for the user caches. With a loader the cache collapses concurrent misses on the same key
+ * into one database load, and {@code refreshAfterWrite} can reload hot entries in the background.
+ * On a miss the loader runs instead of the {@code @Cacheable} method body, so each loader must return
+ * what the cached UserService method would. A loader returning {@code null} leaves the entry uncached,
+ * matching the {@code unless} rules in UserService.
+ */
+@Configuration
+public class UserCacheLoaderConfig {
+
+    @Bean
+    public CacheLoader<Object, Object> userByIdCacheLoader(UserRepo userRepo) {
+        return key -> userRepo.findById((Long) key).orElse(null);
+    }
+
+    @Bean
+    public CacheLoader<Object, Object> userByUsernameCacheLoader(UserRepo userRepo) {
+        return key -> userRepo.findByUsername((String) key).orElse(null);
+    }
+
+    @Bean
+    public CacheLoader<Object, Object> userAuthoritiesCacheLoader(UserRepo userRepo) {
+        return key -> userRepo.findByUsername((String) key)
+                .map(user -> user.getRoles().stream()
+                        .map(role -> new SimpleGrantedAuthority(role.getName().name()))
+                        .toList())
+                .orElse(null);
+    }
+
+    @Bean
+    public CacheLoader<Object, Object> usernameByIdCacheLoader(UserRepo userRepo) {
+        return key -> userRepo.findById((Long) key).map(User::getUsername).orElse(null);
+    }
+
+    @Bean
+    public CacheLoader<Object, Object> userIdByUsernameCacheLoader(UserRepo userRepo) {
+        return key -> userRepo.findByUsername((String) key).map(User::getId).orElse(null);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.personal_finance_tracker.app.events;
+
+/**
+ * Published after a transaction that inserted, updated or deleted finance entries of a user has committed.
+ */
+public record FinanceDataChangedEvent(Long userId) {
+}
@@ -0,0 +1,54 @@
+package com.example.personal_finance_tracker.app.events;
+
+import com.example.personal_finance_tracker.app.models.ERole;
+import com.example.personal_finance_tracker.app.models.Role;
+import com.example.personal_finance_tracker.app.models.User;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Published by UserService whenever a user row changes, carrying enough of the before and after
+ * state for listeners to invalidate exactly the affected cache keys.
+ */
+public record UserChangedEvent(
+        Long userId,
+        String oldUsername,
+        String newUsername,
+        Set<ERole> oldRoles,
+        Set<ERole> newRoles,
+        boolean deleted
+) {
+
+    public static UserChangedEvent updated(Long userId, String oldUsername, Set<ERole> oldRoles, User user) {
+        return new UserChangedEvent(userId, oldUsername, user.getUsername(), oldRoles, roleNames(user.getRoles()), false);
+    }
+
+    public static UserChangedEvent updated(User user) {
+        Set<ERole> roles = roleNames(user.getRoles());
+        return new UserChangedEvent(user.getId(), user.getUsername(), user.getUsername(), roles, roles, false);
+    }
+
+    public static UserChangedEvent deleted(User user) {
+        return new UserChangedEvent(user.getId(), user.getUsername(), null, roleNames(user.getRoles()), Collections.emptySet(), true);
+    }
+
+    public static Set<ERole> roleNames(Collection<Role> roles) {
+        Set<ERole> names = EnumSet.noneOf(ERole.class);
+        if (roles != null) {
+            roles.forEach(role -> names.add(role.getName()));
+        }
+        return names;
+    }
+
+    public boolean usernameChanged() {
+        return !Objects.equals(oldUsername, newUsername);
+    }
+
+    public boolean rolesChanged() {
+        return !Objects.equals(oldRoles, newRoles);
+    }
+}
@@ -1,7 +1,18 @@
 package com.example.personal_finance_tracker.app.exceptions;
 
 public class RateLimitExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
     public RateLimitExceededException(String message) {
+        this(message, 0);
+    }
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
         super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
     }
-} 
\ No newline at end of file
+}
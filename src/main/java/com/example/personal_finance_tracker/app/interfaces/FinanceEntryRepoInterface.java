@@ -1,9 +1,12 @@
 package com.example.personal_finance_tracker.app.interfaces;
 
 import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import com.example.personal_finance_tracker.app.models.dto.FinanceEntryRow;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface FinanceEntryRepoInterface {
     void deleteById(Long id);
@@ -23,4 +26,7 @@ public interface FinanceEntryRepoInterface {
     Map<String, Double> getCategoryWiseIncomeForCurrentYear(Long userId);
     List<FinanceEntry> saveAll(List<FinanceEntry> entries);
     List<FinanceEntry> findAllByUser_Id(Long userId);
+    List<Object[]> findDashboardAggregates(Long userId);
+    long countByUser(Long userId, String type, String category, LocalDate startDate, LocalDate endDate);
+    long streamRows(Long userId, String type, Consumer<FinanceEntryRow> action);
 }
@@ -2,16 +2,33 @@ package com.example.personal_finance_tracker.app.interfaces;
 
 import com.example.personal_finance_tracker.app.models.FinanceEntry;
 import com.example.personal_finance_tracker.app.models.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
+// Entity-returning finders load the owner in the same query: entries are serialized with their user
+// after the transaction has ended, and open-in-view is disabled.
 public interface JpaFinanceEntryRepoInterface extends JpaRepository<FinanceEntry, Long>, QuerydslPredicateExecutor<FinanceEntry> {
+    @Override
+    @EntityGraph(attributePaths = "user", type = EntityGraph.EntityGraphType.LOAD)
+    List<FinanceEntry> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "user", type = EntityGraph.EntityGraphType.LOAD)
+    Optional<FinanceEntry> findById(Long id);
+
+    @EntityGraph(attributePaths = "user", type = EntityGraph.EntityGraphType.LOAD)
     List<FinanceEntry> findByType(String type);
+
+    @EntityGraph(attributePaths = "user", type = EntityGraph.EntityGraphType.LOAD)
     List<FinanceEntry> findByUser(User user);
+
+    @EntityGraph(attributePaths = "user", type = EntityGraph.EntityGraphType.LOAD)
     List<FinanceEntry> findByTypeAndUser(String type, User user);
 
 
@@ -35,5 +52,11 @@ public interface JpaFinanceEntryRepoInterface extends JpaRepository<FinanceEntry
             "GROUP BY f.category")
     List<Object[]> findCategoryWiseIncomeForCurrentYear(@Param("userId") Long userId);
 
+    @Query("SELECT f.type, f.category, YEAR(f.date), SUM(f.amount), COUNT(f) FROM FinanceEntry f " +
+            "WHERE f.user.id = :userId " +
+            "GROUP BY f.type, f.category, YEAR(f.date)")
+    List<Object[]> findDashboardAggregates(@Param("userId") Long userId);
+
+    @EntityGraph(attributePaths = "user", type = EntityGraph.EntityGraphType.LOAD)
     List<FinanceEntry> findByUser_Id(Long id);
 }
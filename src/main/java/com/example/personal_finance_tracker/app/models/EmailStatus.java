@@ -0,0 +1,8 @@
+package com.example.personal_finance_tracker.app.models;
+
+public enum EmailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    DEAD
+}
@@ -11,7 +11,10 @@ import java.time.LocalDate;
 
 @Data
 @Entity
-@Table(name = "finance_entries")
+// Covers the per-user filters of countByUser, so counts are answered from the index alone
+@Table(name = "finance_entries", indexes = @Index(
+        name = "idx_finance_entries_user_type_category_date",
+        columnList = "user_id, type, category, entry_date"))
 @Loggable
 public class FinanceEntry extends BaseEntity {
     @Id
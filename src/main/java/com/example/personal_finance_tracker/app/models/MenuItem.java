@@ -5,11 +5,15 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "menuItem")
 @Table(name = "menu_items")
 @Data
 @NoArgsConstructor
@@ -30,6 +34,7 @@ public class MenuItem extends BaseEntity {
     private String icon;
 
     @ElementCollection(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "menuItemAllowedRoles")
     @CollectionTable(name = "menu_item_roles", joinColumns = @JoinColumn(name = "menu_item_id"))
     @Column(name = "role")
     private List<String> allowedRoles = new ArrayList<>();
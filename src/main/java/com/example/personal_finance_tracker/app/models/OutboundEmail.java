@@ -0,0 +1,65 @@
+package com.example.personal_finance_tracker.app.models;
+
+import com.example.personal_finance_tracker.app.config.StringEncodeConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * A message in the outbound mail queue. The body is only kept until the message is sent.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = false)
+@Table(name = "outbound_emails", indexes = {
+        @Index(name = "idx_outbound_emails_due", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbound_emails_recipient", columnList = "recipient, id")
+})
+public class OutboundEmail extends BaseEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 320)
+    private String recipient;
+
+    @Column(nullable = false, length = 500)
+    private String subject;
+
+    @Lob
+    @ToString.Exclude
+    @Convert(converter = StringEncodeConverter.class)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    public OutboundEmail(String recipient, String subject, String body) {
+        this.recipient = recipient;
+        this.subject = subject;
+        this.body = body;
+        this.status = EmailStatus.PENDING;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+}
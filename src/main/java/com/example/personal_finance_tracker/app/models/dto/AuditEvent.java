@@ -0,0 +1,18 @@
+package com.example.personal_finance_tracker.app.models.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One audit record captured on the caller's thread, before it is queued for the background writer.
+ */
+public record AuditEvent(
+        LocalDateTime occurredAt,
+        String username,
+        String method,
+        String entityName,
+        String entityId,
+        String description,
+        // Field-level diff of an update, see AuditDescriptor
+        String changes
+) {
+}
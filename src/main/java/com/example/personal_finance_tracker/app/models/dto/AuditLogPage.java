@@ -0,0 +1,13 @@
+package com.example.personal_finance_tracker.app.models.dto;
+
+import java.util.List;
+
+/**
+ * One page of an audit search. {@code nextCursor} is passed back to fetch the following page and is
+ * null on the last one.
+ */
+public record AuditLogPage(
+        List<AuditRecord> items,
+        String nextCursor
+) {
+}
@@ -0,0 +1,22 @@
+package com.example.personal_finance_tracker.app.models.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A stored audit row. Ids are only unique within the row's daily partition.
+ */
+public record AuditRecord(
+        @JsonIgnore LocalDate partition,
+        Long id,
+        LocalDateTime occurredAt,
+        String username,
+        String method,
+        String entityName,
+        String entityId,
+        String description,
+        String changes
+) {
+}
@@ -0,0 +1,29 @@
+package com.example.personal_finance_tracker.app.models.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardSummary {
+    private Long userId;
+    private double totalIncome;
+    private double totalExpense;
+    private double netAmount;
+    private long totalTransactions;
+    private Map<String, Double> categoryWiseIncome;
+    private Map<String, Double> categoryWiseExpense;
+    private int year;
+    private Map<String, Double> categoryWiseIncomeForYear;
+    private Map<String, Double> categoryWiseExpenseForYear;
+    private LocalDateTime generatedAt;
+    // Data version the summary was computed from, used to reject entries cached by a racing reader
+    @JsonIgnore
+    private long dataVersion;
+}
@@ -0,0 +1,19 @@
+package com.example.personal_finance_tracker.app.models.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Flat, detached view of a finance entry for streamed responses. Carries the owner's id instead of
+ * the lazy {@code user} association, so writing it never touches the persistence context.
+ */
+public record FinanceEntryRow(
+        Long id,
+        String label,
+        String type,
+        Double amount,
+        String category,
+        LocalDate date,
+        Long userId,
+        Long version
+) {
+}
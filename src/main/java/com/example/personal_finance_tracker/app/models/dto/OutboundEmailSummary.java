@@ -0,0 +1,16 @@
+package com.example.personal_finance_tracker.app.models.dto;
+
+import com.example.personal_finance_tracker.app.models.EmailStatus;
+
+import java.time.LocalDateTime;
+
+public record OutboundEmailSummary(
+        Long id,
+        String recipient,
+        String subject,
+        EmailStatus status,
+        int attempts,
+        String lastError,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,184 @@
+package com.example.personal_finance_tracker.app.repository;
+
+import com.example.personal_finance_tracker.app.models.dto.AuditEvent;
+import com.example.personal_finance_tracker.app.models.dto.AuditRecord;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Append-only audit storage in one table per day ({@code db_event_logs_yyyyMMdd}). Rows are never
+ * updated, so they carry no version or bookkeeping columns. Retention drops whole tables instead of
+ * deleting rows, and searches only read the tables of the days they ask for.
+ */
+@Slf4j
+@Repository
+public class AuditLogStore {
+
+    private static final String PARTITION_PREFIX = "db_event_logs_";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final String COLUMNS = "id, occurred_at, username, method, entity_name, entity_id, description, changes";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Days that have a partition table, newest first
+    private final NavigableSet<LocalDate> partitions = new ConcurrentSkipListSet<>(Comparator.reverseOrder());
+
+    public AuditLogStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void loadPartitions() {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(null, null, "%", new String[]{"TABLE"})) {
+                while (tables.next()) {
+                    LocalDate day = partitionDay(tables.getString("TABLE_NAME"));
+                    if (day != null) {
+                        partitions.add(day);
+                    }
+                }
+            }
+            return null;
+        });
+        log.info("Found {} audit log partitions", partitions.size());
+    }
+
+    public void append(List<AuditEvent> events) {
+        Map<LocalDate, List<AuditEvent>> byDay = new LinkedHashMap<>();
+        for (AuditEvent event : events) {
+            byDay.computeIfAbsent(event.occurredAt().toLocalDate(), day -> new ArrayList<>()).add(event);
+        }
+        byDay.forEach((day, dayEvents) -> {
+            ensurePartition(day);
+            jdbcTemplate.batchUpdate("INSERT INTO " + tableName(day) +
+                            " (occurred_at, username, method, entity_name, entity_id, description, changes)" +
+                            " VALUES (?, ?, ?, ?, ?, ?, ?)",
+                    dayEvents, dayEvents.size(), (ps, event) -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(event.occurredAt()));
+                        ps.setString(2, event.username());
+                        ps.setString(3, event.method());
+                        ps.setString(4, event.entityName());
+                        ps.setString(5, event.entityId());
+                        ps.setString(6, event.description());
+                        ps.setString(7, event.changes());
+                    });
+        });
+    }
+
+    /**
+     * Existing partitions between the given days, newest first.
+     */
+    public List<LocalDate> partitionsBetween(LocalDate from, LocalDate to) {
+        return new ArrayList<>(partitions.subSet(to, true, from, true));
+    }
+
+    /**
+     * Rows of one day matching the non-null filters, newest first, with ids below {@code beforeId} if given.
+     */
+    public List<AuditRecord> findInPartition(LocalDate day, String entityName, String entityId, String username,
+                                             Long beforeId, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS).append(" FROM ").append(tableName(day))
+                .append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (entityName != null) {
+            sql.append(" AND entity_name = ?");
+            args.add(entityName);
+        }
+        if (entityId != null) {
+            sql.append(" AND entity_id = ?");
+            args.add(entityId);
+        }
+        if (username != null) {
+            sql.append(" AND username = ?");
+            args.add(username);
+        }
+        if (beforeId != null) {
+            sql.append(" AND id < ?");
+            args.add(beforeId);
+        }
+        sql.append(" ORDER BY id DESC FETCH FIRST ? ROWS ONLY");
+        args.add(limit);
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> new AuditRecord(
+                day,
+                rs.getLong("id"),
+                rs.getTimestamp("occurred_at").toLocalDateTime(),
+                rs.getString("username"),
+                rs.getString("method"),
+                rs.getString("entity_name"),
+                rs.getString("entity_id"),
+                rs.getString("description"),
+                rs.getString("changes")), args.toArray());
+    }
+
+    /**
+     * Drops the partitions of all days before {@code cutoff}. Returns the number of dropped partitions.
+     */
+    public int dropPartitionsBefore(LocalDate cutoff) {
+        int dropped = 0;
+        for (LocalDate day : new ArrayList<>(partitions.tailSet(cutoff, false))) {
+            // Removed first, so a concurrent search no longer picks the table up
+            partitions.remove(day);
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + tableName(day));
+            dropped++;
+        }
+        return dropped;
+    }
+
+    private void ensurePartition(LocalDate day) {
+        if (partitions.contains(day)) {
+            return;
+        }
+        synchronized (partitions) {
+            if (partitions.contains(day)) {
+                return;
+            }
+            String table = tableName(day);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " (" +
+                    "id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, " +
+                    "occurred_at TIMESTAMP NOT NULL, " +
+                    "username VARCHAR(255), " +
+                    "method VARCHAR(16), " +
+                    "entity_name VARCHAR(255), " +
+                    "entity_id VARCHAR(255), " +
+                    "description VARCHAR(1000), " +
+                    "changes VARCHAR(4000))");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + table + "_entity ON " + table + " (entity_name, entity_id)");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + table + "_user ON " + table + " (username, occurred_at)");
+            partitions.add(day);
+            log.info("Created audit log partition {}", table);
+        }
+    }
+
+    private static String tableName(LocalDate day) {
+        return PARTITION_PREFIX + day.format(PARTITION_SUFFIX);
+    }
+
+    private static LocalDate partitionDay(String tableName) {
+        String name = tableName.toLowerCase(Locale.ROOT);
+        if (!name.startsWith(PARTITION_PREFIX) || name.length() != PARTITION_PREFIX.length() + 8) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -21,6 +22,7 @@ import java.util.List;
 @Repository
 @RequiredArgsConstructor
 @Slf4j
+@Transactional(readOnly = true)
 public class FinanceEntryQueryRepositoryImpl implements FinanceEntryQueryRepository {
     private final JPAQueryFactory queryFactory;
 
@@ -48,12 +50,13 @@ public class FinanceEntryQueryRepositoryImpl implements FinanceEntryQueryReposit
                 type, category, minAmount, maxAmount, startDate, endDate, searchTerm);
 
         applyFilters(query, type, category, minAmount, maxAmount, startDate, endDate, searchTerm);
-        applySorting(query, pageable);
 
-        long total = query.fetch().size();
+        long total = count(query);
         log.debug("Total entries found: {}", total);
 
+        applySorting(query, pageable);
         List<FinanceEntry> entries = query
+                .leftJoin(financeEntry.user).fetchJoin()
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
@@ -82,12 +85,13 @@ public class FinanceEntryQueryRepositoryImpl implements FinanceEntryQueryReposit
                 type, category, minAmount, maxAmount, startDate, endDate, searchTerm);
 
         applyFilters(query, type, category, minAmount, maxAmount, startDate, endDate, searchTerm);
-        applySorting(query, pageable);
 
-        long total = query.fetch().size();
+        long total = count(query);
         log.debug("Total admin entries found: {}", total);
 
+        applySorting(query, pageable);
         List<FinanceEntry> entries = query
+                .leftJoin(financeEntry.user).fetchJoin()
                 .offset(pageable.getOffset())
                 .limit(pageable.getPageSize())
                 .fetch();
@@ -96,6 +100,14 @@ public class FinanceEntryQueryRepositoryImpl implements FinanceEntryQueryReposit
         return new PageImpl<>(entries, pageable, total);
     }
 
+    // Counts the filtered rows with SELECT COUNT instead of loading them all to take the list size
+    private long count(JPAQuery<FinanceEntry> query) {
+        Long total = query.clone()
+                .select(QFinanceEntry.financeEntry.id.count())
+                .fetchOne();
+        return total != null ? total : 0;
+    }
+
     private void applyFilters(JPAQuery<FinanceEntry> query,
                               String type,
                               String category,
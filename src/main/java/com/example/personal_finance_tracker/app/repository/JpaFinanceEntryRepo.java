@@ -4,12 +4,21 @@ import com.example.personal_finance_tracker.app.exceptions.JwtAuthenticationExce
 import com.example.personal_finance_tracker.app.interfaces.FinanceEntryRepoInterface;
 import com.example.personal_finance_tracker.app.interfaces.JpaFinanceEntryRepoInterface;
 import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import com.example.personal_finance_tracker.app.models.QFinanceEntry;
 import com.example.personal_finance_tracker.app.models.User;
+import com.example.personal_finance_tracker.app.models.dto.FinanceEntryRow;
+import com.querydsl.core.BooleanBuilder;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -17,6 +26,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
@@ -28,6 +38,9 @@ public class JpaFinanceEntryRepo implements FinanceEntryRepoInterface {
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${app.streaming.fetch-size:500}")
+    private int streamFetchSize;
+
     @Override
     public void deleteById(Long id) {
         log.info("Deleting finance entry with ID: {}", id);
@@ -49,6 +62,8 @@ public class JpaFinanceEntryRepo implements FinanceEntryRepoInterface {
         return createdEntry;
     }
 
+    // One transaction, so the returned entry keeps the owner loaded by findById for serialization
+    @Transactional
     @Override
     public FinanceEntry update(Long id, FinanceEntry financeEntry) throws Exception {
         log.info("Updating finance entry ID: {}", id);
@@ -233,6 +248,69 @@ public class JpaFinanceEntryRepo implements FinanceEntryRepoInterface {
         return entries;
     }
 
+    @Override
+    public List<Object[]> findDashboardAggregates(Long userId) {
+        log.info("Fetching dashboard aggregates for user ID: {}", userId);
+        List<Object[]> results = jpaRepo.findDashboardAggregates(userId);
+        log.debug("Retrieved {} type/category/year groups for user ID {}", results.size(), userId);
+        return results;
+    }
+
+    @Override
+    public long countByUser(Long userId, String type, String category, LocalDate startDate, LocalDate endDate) {
+        log.info("Counting entries for user ID: {}", userId);
+        QFinanceEntry financeEntry = QFinanceEntry.financeEntry;
+        BooleanBuilder predicate = new BooleanBuilder(financeEntry.user.id.eq(userId));
+        if (type != null) {
+            predicate.and(financeEntry.type.eq(type));
+        }
+        if (category != null && !category.isEmpty()) {
+            predicate.and(financeEntry.category.eq(category));
+        }
+        if (startDate != null) {
+            predicate.and(financeEntry.date.goe(startDate));
+        }
+        if (endDate != null) {
+            predicate.and(financeEntry.date.loe(endDate));
+        }
+        long count = jpaRepo.count(predicate);
+        log.debug("Counted {} entries for user ID {}", count, userId);
+        return count;
+    }
+
+    /**
+     * Feeds every matching entry to {@code action} from a forward-only cursor, {@code streamFetchSize} rows
+     * per round trip. Rows are selected as {@link FinanceEntryRow} projections, so no entity is hydrated
+     * or kept in the session and memory stays flat however many rows match. {@code null} filters match all.
+     */
+    @Override
+    @org.springframework.transaction.annotation.Transactional(readOnly = true)
+    public long streamRows(Long userId, String type, Consumer<FinanceEntryRow> action) {
+        log.info("Streaming entries for user ID: {}, type: {}", userId, type);
+        Session session = entityManager.unwrap(Session.class);
+        SelectionQuery<FinanceEntryRow> query = session.createSelectionQuery(
+                        "SELECT new com.example.personal_finance_tracker.app.models.dto.FinanceEntryRow(" +
+                                "f.id, f.label, f.type, f.amount, f.category, f.date, f.user.id, f.version) " +
+                                "FROM FinanceEntry f " +
+                                "WHERE (:userId IS NULL OR f.user.id = :userId) AND (:type IS NULL OR f.type = :type) " +
+                                "ORDER BY f.id", FinanceEntryRow.class)
+                .setParameter("userId", userId)
+                .setParameter("type", type)
+                .setReadOnly(true)
+                .setFetchSize(streamFetchSize)
+                .setCacheMode(CacheMode.IGNORE);
+
+        long count = 0;
+        try (ScrollableResults<FinanceEntryRow> rows = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (rows.next()) {
+                action.accept(rows.get());
+                count++;
+            }
+        }
+        log.debug("Streamed {} entries for user ID {}", count, userId);
+        return count;
+    }
+
     @Override
     public List<FinanceEntry> findAllByUser_Id(Long id) {
         log.info("Finding all entries for user ID: {}", id);
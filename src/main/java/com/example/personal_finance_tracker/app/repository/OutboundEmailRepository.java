@@ -0,0 +1,75 @@
+package com.example.personal_finance_tracker.app.repository;
+
+import com.example.personal_finance_tracker.app.models.EmailStatus;
+import com.example.personal_finance_tracker.app.models.OutboundEmail;
+import com.example.personal_finance_tracker.app.models.dto.OutboundEmailSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+
+    // Due messages that are the oldest live message for their recipient, so each recipient gets its mail in order
+    @Query("SELECT e.id FROM OutboundEmail e WHERE e.status = :pending AND e.nextAttemptAt <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM OutboundEmail p WHERE p.recipient = e.recipient AND p.id < e.id AND p.status IN :live) " +
+            "ORDER BY e.nextAttemptAt")
+    List<Long> findDueHeads(@Param("pending") EmailStatus pending, @Param("live") Collection<EmailStatus> live,
+                            @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :sending, e.claimedAt = :now WHERE e.id = :id AND e.status = :pending")
+    int claim(@Param("id") Long id, @Param("pending") EmailStatus pending, @Param("sending") EmailStatus sending,
+              @Param("now") LocalDateTime now);
+
+    // A stuck send counts as an attempt, so a message that hangs the sender every time is dead-lettered
+    // after max-attempts like one that fails. Clearing the claim discards the stuck worker's outcome.
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = CASE WHEN e.attempts + 1 >= :maxAttempts THEN :dead ELSE :pending END, " +
+            "e.attempts = e.attempts + 1, e.nextAttemptAt = :now, e.claimedAt = NULL, e.lastError = :lastError, " +
+            "e.updatedAt = :now WHERE e.status = :sending AND e.claimedAt < :cutoff")
+    int releaseStale(@Param("sending") EmailStatus sending, @Param("pending") EmailStatus pending,
+                     @Param("dead") EmailStatus dead, @Param("maxAttempts") int maxAttempts,
+                     @Param("cutoff") LocalDateTime cutoff, @Param("lastError") String lastError,
+                     @Param("now") LocalDateTime now);
+
+    // Records the outcome of a send only while the sender still owns the claim, so a worker whose message
+    // was released and claimed again cannot overwrite the newer attempt
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.sentAt = :sentAt, e.lastError = :lastError, e.claimedAt = NULL, e.updatedAt = :now " +
+            "WHERE e.id = :id AND e.status = :sending AND e.claimedAt = :claimedAt")
+    int finish(@Param("id") Long id, @Param("sending") EmailStatus sending, @Param("claimedAt") LocalDateTime claimedAt,
+               @Param("status") EmailStatus status, @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+               @Param("sentAt") LocalDateTime sentAt, @Param("lastError") String lastError,
+               @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboundEmail e SET e.body = NULL WHERE e.id = :id AND e.status = :status")
+    int clearBody(@Param("id") Long id, @Param("status") EmailStatus status);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboundEmail e WHERE e.status IN :statuses AND e.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("statuses") Collection<EmailStatus> statuses, @Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT e.status, COUNT(e) FROM OutboundEmail e GROUP BY e.status")
+    List<Object[]> countByStatus();
+
+    @Query("SELECT e.recipient, COUNT(e) FROM OutboundEmail e WHERE e.status = :status GROUP BY e.recipient ORDER BY COUNT(e) DESC")
+    List<Object[]> countByRecipient(@Param("status") EmailStatus status, Pageable pageable);
+
+    List<OutboundEmailSummary> findTop100ByOrderByIdDesc();
+}
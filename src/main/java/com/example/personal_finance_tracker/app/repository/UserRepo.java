@@ -27,6 +27,20 @@ public interface UserRepo extends JpaRepository<User, Long> {
     @Query("UPDATE User u SET u.lockTime = ?1 WHERE u.username = ?2")
     void lockUser(LocalDateTime lockTime, String username);
 
+    @Modifying
+    @Query("UPDATE User u SET u.failedAttempts = 0, u.lockTime = null, u.lastLoginDate = ?1 WHERE u.username = ?2")
+    void recordSuccessfulLogin(LocalDateTime loginTime, String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.failedAttempts = u.failedAttempts + 1, " +
+            "u.lockTime = CASE WHEN u.failedAttempts + 1 >= ?1 THEN ?2 ELSE u.lockTime END " +
+            "WHERE u.username = ?3")
+    void recordFailedLogin(Integer maxFailedAttempts, LocalDateTime lockTime, String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = ?1 WHERE u.username = ?2")
+    void updatePasswordHash(String encodedPassword, String username);
+
     @Query("SELECT u FROM User u WHERE u.lastLoginDate < :expirationDate")
     List<User> findExpiredAccounts(@Param("expirationDate") LocalDateTime expirationDate);
 
@@ -1,14 +1,18 @@
 package com.example.personal_finance_tracker.app.routes;
 
 import com.example.personal_finance_tracker.app.models.User;
+import com.example.personal_finance_tracker.app.services.DataVersionService;
 import com.example.personal_finance_tracker.app.services.FinanceEntryService;
 import com.example.personal_finance_tracker.app.services.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Year;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +25,7 @@ public class AccountantController {
 
     private final FinanceEntryService financeEntryService;
     private final UserService userService;
+    private final DataVersionService dataVersionService;
 
     @PostMapping("/users")
     @PreAuthorize("hasRole('ROLE_ACCOUNTANT') or hasRole('ROLE_ADMIN')")
@@ -33,8 +38,14 @@ public class AccountantController {
 
     @PostMapping("/summary/overall")
     @PreAuthorize("hasRole('ROLE_ACCOUNTANT') or hasRole('ROLE_ADMIN')")
-    public ResponseEntity<Map<String, Object>> getOverallSummary() {
+    public ResponseEntity<Map<String, Object>> getOverallSummary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getOverallSummary method");
+        String etag = dataVersionService.financeEtag();
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getOverallSummary method - summary not modified");
+            return notModified(etag);
+        }
         double totalIncome = financeEntryService.getTotalIncomeForAllUsers();
         double totalExpense = financeEntryService.getTotalExpenseForAllUsers();
         double netAmount = totalIncome - totalExpense;
@@ -48,13 +59,20 @@ public class AccountantController {
         summary.put("netAmount", netAmount);
 
         log.info("Exiting getOverallSummary method");
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok().eTag(etag).body(summary);
     }
 
     @PostMapping("/summary/user/{userId}")
     @PreAuthorize("hasRole('ROLE_ACCOUNTANT') or hasRole('ROLE_ADMIN')")
-    public ResponseEntity<Map<String, Object>> getUserSummary(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Object>> getUserSummary(@PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getUserSummary method for userId: {}", userId);
+        // Category totals cover the current year only, so the year is part of the tag
+        String etag = dataVersionService.userFinanceEtag(userId, Year.now());
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getUserSummary method for userId: {} - summary not modified", userId);
+            return notModified(etag);
+        }
 
         double totalIncome = financeEntryService.getTotalIncomeForUser(userId);
         double totalExpense = financeEntryService.getTotalExpenseForUser(userId);
@@ -79,13 +97,19 @@ public class AccountantController {
         summary.put("categoryWiseExpense", categoryWiseExpense);
 
         log.info("Exiting getUserSummary method for userId: {}", userId);
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok().eTag(etag).body(summary);
     }
 
     @PostMapping("/summary/monthly")
     @PreAuthorize("hasRole('ROLE_ACCOUNTANT') or hasRole('ROLE_ADMIN')")
-    public ResponseEntity<Map<String, Object>> getMonthlySummary() {
+    public ResponseEntity<Map<String, Object>> getMonthlySummary(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getMonthlySummary method");
+        String etag = dataVersionService.financeEtag();
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getMonthlySummary method - summary not modified");
+            return notModified(etag);
+        }
 
         Map<String, Double> monthlyIncome = financeEntryService.getMonthlyIncomeForAllUsers();
         Map<String, Double> monthlyExpense = financeEntryService.getMonthlyExpenseForAllUsers();
@@ -98,6 +122,10 @@ public class AccountantController {
         summary.put("monthlyExpense", monthlyExpense);
 
         log.info("Exiting getMonthlySummary method");
-        return ResponseEntity.ok(summary);
+        return ResponseEntity.ok().eTag(etag).body(summary);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
     }
 }
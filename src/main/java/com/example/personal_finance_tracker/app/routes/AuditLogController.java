@@ -0,0 +1,40 @@
+package com.example.personal_finance_tracker.app.routes;
+
+import com.example.personal_finance_tracker.app.models.dto.AuditLogPage;
+import com.example.personal_finance_tracker.app.services.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/audit-logs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AuditLogController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final AuditLogService auditLogService;
+
+    @GetMapping
+    public ResponseEntity<AuditLogPage> search(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String entityName,
+            @RequestParam(required = false) String entityId,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("Entering audit log search: from={}, to={}, entity={}/{}, user={}", from, to, entityName, entityId, username);
+        AuditLogPage page = auditLogService.search(from, to, entityName, entityId, username, cursor,
+                Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        log.info("Exiting audit log search with {} records", page.items().size());
+        return ResponseEntity.ok(page);
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.personal_finance_tracker.app.routes;
 
 import com.example.personal_finance_tracker.app.models.User;
+import com.example.personal_finance_tracker.app.services.CacheStatsService;
 import com.example.personal_finance_tracker.app.services.UserService;
 import com.example.personal_finance_tracker.app.utils.LogCollector;
 import org.springframework.http.HttpStatus;
@@ -16,14 +17,26 @@ import java.util.Map;
 public class CacheStatsController {
 
     private final UserService userService;
+    private final CacheStatsService cacheStatsService;
 
-    public CacheStatsController(UserService userService) {
+    public CacheStatsController(UserService userService, CacheStatsService cacheStatsService) {
         this.userService = userService;
+        this.cacheStatsService = cacheStatsService;
     }
 
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getCacheStats() {
-        return ResponseEntity.ok(LogCollector.getCacheStats());
+        return ResponseEntity.ok(cacheStatsService.getCacheStats());
+    }
+
+    @GetMapping("/sizing")
+    public ResponseEntity<Map<String, Object>> getCacheSizing() {
+        return ResponseEntity.ok(cacheStatsService.getSizingReport());
+    }
+
+    @GetMapping("/hibernate")
+    public ResponseEntity<Map<String, Object>> getHibernateCacheStats() {
+        return ResponseEntity.ok(cacheStatsService.getHibernateCacheStats());
     }
 
     @GetMapping("/logs")
@@ -33,7 +46,7 @@ public class CacheStatsController {
 
     @GetMapping("/reset")
     public ResponseEntity<Void> resetCacheStats() {
-        LogCollector.clearCacheLogs();
+        cacheStatsService.reset();
         return ResponseEntity.ok().build();
     }
 
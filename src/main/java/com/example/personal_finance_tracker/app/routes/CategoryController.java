@@ -2,8 +2,10 @@ package com.example.personal_finance_tracker.app.routes;
 
 import com.example.personal_finance_tracker.app.models.Category;
 import com.example.personal_finance_tracker.app.services.CategoryService;
+import com.example.personal_finance_tracker.app.services.DataVersionService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -18,33 +20,52 @@ import java.util.Optional;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final DataVersionService dataVersionService;
 
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getAllCategories method");
+        String etag = dataVersionService.categoryEtag();
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getAllCategories method - categories not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<Category> categories = categoryService.findAll();
         log.info("Exiting getAllCategories method with {} categories", categories.size());
-        return ResponseEntity.ok(categories);
+        return ResponseEntity.ok().eTag(etag).body(categories);
     }
 
     @GetMapping("/expense")
-    public ResponseEntity<List<Category>> getExpenseCategories() {
+    public ResponseEntity<List<Category>> getExpenseCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getExpenseCategories method");
+        String etag = dataVersionService.categoryEtag();
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getExpenseCategories method - categories not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<Category> expenseCategories = categoryService.findAll().stream()
                 .filter(category -> "Expense".equals(category.getType()))
                 .toList();
         log.info("Exiting getExpenseCategories method with {} categories", expenseCategories.size());
-        return ResponseEntity.ok(expenseCategories);
+        return ResponseEntity.ok().eTag(etag).body(expenseCategories);
     }
 
     @GetMapping("/income")
-    public ResponseEntity<List<Category>> getIncomeCategories() {
+    public ResponseEntity<List<Category>> getIncomeCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getIncomeCategories method");
+        String etag = dataVersionService.categoryEtag();
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getIncomeCategories method - categories not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<Category> incomeCategories = categoryService.findAll().stream()
                 .filter(category -> "Income".equals(category.getType()))
                 .toList();
         log.info("Exiting getIncomeCategories method with {} categories", incomeCategories.size());
-        return ResponseEntity.ok(incomeCategories);
+        return ResponseEntity.ok().eTag(etag).body(incomeCategories);
     }
 
     @GetMapping("/{id}")
@@ -1,6 +1,8 @@
 package com.example.personal_finance_tracker.app.routes;
 
+import com.example.personal_finance_tracker.app.config.PoolMetricsTrackerFactory;
 import com.example.personal_finance_tracker.app.services.ConnectionDemoService;
+import com.example.personal_finance_tracker.app.services.PoolSizingAdvisor;
 import com.example.personal_finance_tracker.app.utils.LogCollector;
 import com.zaxxer.hikari.HikariDataSource;
 import com.zaxxer.hikari.HikariPoolMXBean;
@@ -12,8 +14,10 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.sql.DataSource;
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,6 +29,9 @@ public class ConnectionPoolDemoController {
 
     private final ConnectionDemoService demoService;
     private final DataSource dataSource;
+    private final PoolMetricsTrackerFactory poolMetrics;
+    private final PoolSizingAdvisor poolSizingAdvisor;
+    private final List<HikariDataSource> pools;
     private static final String MESSAGE = "status";
 
     @GetMapping("/connection-reuse")
@@ -42,8 +49,8 @@ public class ConnectionPoolDemoController {
     }
 
     @GetMapping("/pool-stats")
-    public Map<String, Object> getPoolStats() {
-        HikariDataSource hikariDataSource = (HikariDataSource) dataSource;
+    public Map<String, Object> getPoolStats() throws SQLException {
+        HikariDataSource hikariDataSource = dataSource.unwrap(HikariDataSource.class);
         HikariPoolMXBean poolMXBean = hikariDataSource.getHikariPoolMXBean();
 
         Map<String, Object> stats = new HashMap<>();
@@ -51,11 +58,26 @@ public class ConnectionPoolDemoController {
         stats.put("idleConnections", poolMXBean.getIdleConnections());
         stats.put("totalConnections", poolMXBean.getTotalConnections());
         stats.put("threadsAwaitingConnection", poolMXBean.getThreadsAwaitingConnection());
+        PoolMetricsTrackerFactory.PoolMetrics metrics = poolMetrics.getPool(hikariDataSource.getPoolName());
+        if (metrics != null) {
+            stats.putAll(metrics.snapshot());
+        }
+        // Every pool behind the routing DataSource, the write pool above included
+        Map<String, Object> poolStats = new LinkedHashMap<>();
+        for (HikariDataSource pool : pools) {
+            poolStats.put(pool.getPoolName(), poolStats(pool));
+        }
+        stats.put("pools", poolStats);
 
         log.debug("Current pool stats: {}", stats);
         return stats;
     }
 
+    @GetMapping("/pool-advisor")
+    public Map<String, Object> getPoolSizingReport() {
+        return poolSizingAdvisor.getReport();
+    }
+
     @GetMapping("/connection-logs")
     public List<String> getConnectionLogs() {
         return LogCollector.getLastLogs(100); // Return last 100 logs
@@ -64,7 +86,29 @@ public class ConnectionPoolDemoController {
     @GetMapping("/reset")
     public Map<String, String> resetDemo() {
         LogCollector.clearLogs();
+        for (HikariDataSource pool : pools) {
+            PoolMetricsTrackerFactory.PoolMetrics metrics = poolMetrics.getPool(pool.getPoolName());
+            if (metrics != null) {
+                metrics.reset();
+            }
+        }
         log.info("Connection pool demo reset");
         return Collections.singletonMap(MESSAGE, "Demo reset successfully");
     }
+
+    private Map<String, Object> poolStats(HikariDataSource pool) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("maximumPoolSize", pool.getMaximumPoolSize());
+        HikariPoolMXBean poolMXBean = pool.getHikariPoolMXBean();
+        if (poolMXBean != null) {
+            stats.put("activeConnections", poolMXBean.getActiveConnections());
+            stats.put("idleConnections", poolMXBean.getIdleConnections());
+            stats.put("threadsAwaitingConnection", poolMXBean.getThreadsAwaitingConnection());
+        }
+        PoolMetricsTrackerFactory.PoolMetrics metrics = poolMetrics.getPool(pool.getPoolName());
+        if (metrics != null) {
+            stats.putAll(metrics.snapshot());
+        }
+        return stats;
+    }
 }
@@ -0,0 +1,48 @@
+package com.example.personal_finance_tracker.app.routes;
+
+import com.example.personal_finance_tracker.app.models.dto.DashboardSummary;
+import com.example.personal_finance_tracker.app.security.UserDetailsImpl;
+import com.example.personal_finance_tracker.app.services.DashboardService;
+import com.example.personal_finance_tracker.app.services.DataVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Year;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final DataVersionService dataVersionService;
+
+    @GetMapping
+    public ResponseEntity<DashboardSummary> getDashboard(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        Long userId = userDetails.getId();
+        log.info("Entering getDashboard method for user ID: {}", userId);
+
+        String etag = dataVersionService.userFinanceEtag(userId, Year.now());
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getDashboard method - dashboard not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        DashboardSummary summary = dashboardService.getDashboard(userId);
+        log.info("Exiting getDashboard method for user ID: {}", userId);
+        return ResponseEntity.ok().eTag(etag).body(summary);
+    }
+}
@@ -59,7 +59,7 @@ public class EmailStatsController {
                 </html>
                 """.formatted(java.time.LocalDateTime.now())
             );
-            return ResponseEntity.ok(Collections.singletonMap("message", "Test email sent successfully"));
+            return ResponseEntity.ok(Collections.singletonMap("message", "Test email queued successfully"));
         } catch (RateLimitExceededException e) {
             return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
                     .body(Collections.singletonMap("error", e.getMessage()));
@@ -69,4 +69,15 @@ public class EmailStatsController {
                     .body(Collections.singletonMap("error", "Failed to send test email: " + e.getMessage()));
         }
     }
+
+    @PostMapping("/dead-letters/{id}/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, String>> retryDeadLetter(@PathVariable Long id) {
+        log.info("Requeueing dead-lettered email: {}", id);
+        if (!emailService.retryDeadLetter(id)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("error", "No dead-lettered email with id " + id));
+        }
+        return ResponseEntity.ok(Collections.singletonMap("message", "Email requeued"));
+    }
 } 
\ No newline at end of file
@@ -2,10 +2,14 @@ package com.example.personal_finance_tracker.app.routes;
 
 import com.example.personal_finance_tracker.app.models.FinanceEntry;
 import com.example.personal_finance_tracker.app.models.User;
+import com.example.personal_finance_tracker.app.models.dto.FinanceEntryRow;
 import com.example.personal_finance_tracker.app.repository.FinanceEntryQueryRepository;
 import com.example.personal_finance_tracker.app.security.UserDetailsImpl;
+import com.example.personal_finance_tracker.app.services.DataVersionService;
 import com.example.personal_finance_tracker.app.services.FinanceEntryService;
 import com.example.personal_finance_tracker.app.services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -13,7 +17,9 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -21,7 +27,10 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -37,11 +46,16 @@ public class FinanceEntryController {
     private final FinanceEntryService financeEntryService;
     private final UserService userService;
     private final FinanceEntryQueryRepository financeEntryRepository;
+    private final DataVersionService dataVersionService;
+    private final ObjectMapper objectMapper;
 
     private static final String ADMIN_ROLE = "ADMIN";
+    // Rows buffered between flushes of a streamed response; the first row is always flushed at once
+    private static final int STREAM_FLUSH_ROWS = 500;
 
     @PostMapping("/get")
-    public List<FinanceEntry> getAll() {
+    public ResponseEntity<List<FinanceEntry>> getAll(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getAll method");
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -49,23 +63,30 @@ public class FinanceEntryController {
         // Check if user has ADMIN role
         boolean isAdmin = authentication.getAuthorities().contains(new SimpleGrantedAuthority(ADMIN_ROLE));
 
+        String etag = isAdmin ? dataVersionService.financeEtag() : dataVersionService.userFinanceEtag(userDetails.getId());
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getAll method - entries not modified");
+            return notModified(etag);
+        }
+
         if (isAdmin) {
             // Admin can see all entries
             log.info("Admin user detected. Fetching all entries.");
             List<FinanceEntry> entries = financeEntryService.findAll();
             log.info("Exiting getAll method with all entries. Count: {}", entries.size());
-            return entries;
+            return ResponseEntity.ok().eTag(etag).body(entries);
         } else {
             // Regular users can only see their own entries
             log.info("Regular user detected. Fetching entries for user ID: {}", userDetails.getId());
             List<FinanceEntry> entries = financeEntryService.findByUserId(userDetails.getId());
             log.info("Exiting getAll method with user specific entries. Count: {}", entries.size());
-            return entries;
+            return ResponseEntity.ok().eTag(etag).body(entries);
         }
     }
 
     @PostMapping("/get/{type}")
-    public List<FinanceEntry> getByType(@PathVariable String type) {
+    public ResponseEntity<List<FinanceEntry>> getByType(@PathVariable String type,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getByType method with type: {}", type);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -73,21 +94,45 @@ public class FinanceEntryController {
         // Check if user has ADMIN role
         boolean isAdmin = authentication.getAuthorities().contains(new SimpleGrantedAuthority(ADMIN_ROLE));
 
+        String etag = isAdmin ? dataVersionService.financeEtag() : dataVersionService.userFinanceEtag(userDetails.getId());
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getByType method - entries of type {} not modified", type);
+            return notModified(etag);
+        }
+
         if (isAdmin) {
             // Admin can see all entries of a specific type
             log.info("Admin user detected. Fetching all entries of type: {}", type);
             List<FinanceEntry> entries = financeEntryService.findByType(type);
             log.info("Exiting getByType method with all entries of type {}. Count: {}", type, entries.size());
-            return entries;
+            return ResponseEntity.ok().eTag(etag).body(entries);
         } else {
             // Regular users can only see their own entries of a specific type
             log.info("Regular user detected. Fetching entries of type {} for user ID: {}", type, userDetails.getId());
             List<FinanceEntry> entries = financeEntryService.findByTypeAndUserId(type, userDetails.getId());
             log.info("Exiting getByType method with user specific entries of type {}. Count: {}", type, entries.size());
-            return entries;
+            return ResponseEntity.ok().eTag(etag).body(entries);
         }
     }
 
+    @PostMapping(value = "/get", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAll() {
+        log.info("Entering streamAll method");
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        boolean isAdmin = authentication.getAuthorities().contains(new SimpleGrantedAuthority(ADMIN_ROLE));
+        return streamEntries(isAdmin ? null : userDetails.getId(), null);
+    }
+
+    @PostMapping(value = "/get/{type}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamByType(@PathVariable String type) {
+        log.info("Entering streamByType method with type: {}", type);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        boolean isAdmin = authentication.getAuthorities().contains(new SimpleGrantedAuthority(ADMIN_ROLE));
+        return streamEntries(isAdmin ? null : userDetails.getId(), type);
+    }
+
     @PostMapping("/post")
     public FinanceEntry create(@RequestBody FinanceEntry financeEntry) {
         log.info("Entering create method with financeEntry: {}", financeEntry);
@@ -154,7 +199,8 @@ public class FinanceEntryController {
     }
 
     @PostMapping("/get/summary/expense/{userId}")
-    public ResponseEntity<Map<String, Double>> getCategoryWiseSpendingForCurrentMonth(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Double>> getCategoryWiseSpendingForCurrentMonth(@PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getCategoryWiseSpendingForCurrentMonth method for userId: {}", userId);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -169,13 +215,20 @@ public class FinanceEntryController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
+        String etag = dataVersionService.userFinanceEtag(userId);
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getCategoryWiseSpendingForCurrentMonth method - summary not modified");
+            return notModified(etag);
+        }
+
         Map<String, Double> categoryWiseSpending = financeEntryService.getCategoryWiseSpending(userId);
         log.info("Exiting getCategoryWiseSpendingForCurrentMonth method with categoryWiseSpending: {}", categoryWiseSpending);
-        return ResponseEntity.ok(categoryWiseSpending);
+        return ResponseEntity.ok().eTag(etag).body(categoryWiseSpending);
     }
 
     @PostMapping("/get/summary/income/{userId}")
-    public ResponseEntity<Map<String, Double>> getCategoryWiseIncomeForCurrentMonth(@PathVariable Long userId) {
+    public ResponseEntity<Map<String, Double>> getCategoryWiseIncomeForCurrentMonth(@PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Entering getCategoryWiseIncomeForCurrentMonth method for userId: {}", userId);
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -190,9 +243,15 @@ public class FinanceEntryController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
 
+        String etag = dataVersionService.userFinanceEtag(userId);
+        if (dataVersionService.matches(ifNoneMatch, etag)) {
+            log.info("Exiting getCategoryWiseIncomeForCurrentMonth method - summary not modified");
+            return notModified(etag);
+        }
+
         Map<String, Double> categoryWiseIncome = financeEntryService.getCategoryWiseIncome(userId);
         log.info("Exiting getCategoryWiseIncomeForCurrentMonth method with categoryWiseIncome: {}", categoryWiseIncome);
-        return ResponseEntity.ok(categoryWiseIncome);
+        return ResponseEntity.ok().eTag(etag).body(categoryWiseIncome);
     }
 
     @PostMapping("/get/admin/transactions")
@@ -204,6 +263,13 @@ public class FinanceEntryController {
         return entries;
     }
 
+    @PostMapping(value = "/get/admin/transactions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> streamAllFinanceEntries() {
+        log.info("Entering streamAllFinanceEntries method (Admin)");
+        return streamEntries(null, null);
+    }
+
     @PostMapping("/get/admin/users")
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     public List<User> getAllUsers() {
@@ -304,6 +370,37 @@ public class FinanceEntryController {
     }
 
 
+    /**
+     * Writes matching entries as newline-delimited JSON while they are read from the cursor, so the
+     * first bytes go out before the query has finished and nothing is held beyond the current row.
+     */
+    private ResponseEntity<StreamingResponseBody> streamEntries(Long userId, String type) {
+        ObjectWriter rowWriter = objectMapper.writerFor(FinanceEntryRow.class);
+        StreamingResponseBody body = outputStream -> {
+            long[] written = {0};
+            long count = financeEntryService.streamEntries(userId, type, row -> {
+                try {
+                    outputStream.write(rowWriter.writeValueAsBytes(row));
+                    outputStream.write('\n');
+                    if (++written[0] == 1 || written[0] % STREAM_FLUSH_ROWS == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    // Typically the client going away; abort the cursor instead of reading the remaining rows
+                    throw new UncheckedIOException(e);
+                }
+            });
+            log.info("Exiting stream of {} entries for user ID: {}", count, userId);
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
     private Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication != null && authentication.isAuthenticated()) {
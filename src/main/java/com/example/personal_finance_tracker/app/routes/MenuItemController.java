@@ -2,6 +2,7 @@ package com.example.personal_finance_tracker.app.routes;
 
 import com.example.personal_finance_tracker.app.models.MenuItem;
 import com.example.personal_finance_tracker.app.services.MenuItemService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,15 +22,18 @@ public class MenuItemController {
     }
 
     @GetMapping("/menu-items")
-    public ResponseEntity<List<MenuItem>> getUserMenuItems(Authentication authentication) {
+    public ResponseEntity<byte[]> getUserMenuItems(Authentication authentication) {
         // Extract roles from the authenticated user
         List<String> roles = authentication.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList();
-        
-        // Get menu items filtered by user roles
-        List<MenuItem> menuItems = menuItemService.getMenuItemsForRoles(roles);
-        return ResponseEntity.ok(menuItems);
+
+        // Pre-serialized menu for this role combination; a matching If-None-Match yields 304
+        MenuItemService.RoleMenu menu = menuItemService.getMenuForRoles(roles);
+        return ResponseEntity.ok()
+                .eTag(menu.etag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(menu.json());
     }
 
     @GetMapping("/admin/menu-items")
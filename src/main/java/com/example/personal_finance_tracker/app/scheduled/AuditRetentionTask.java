@@ -0,0 +1,21 @@
+package com.example.personal_finance_tracker.app.scheduled;
+
+import com.example.personal_finance_tracker.app.services.AuditLogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuditRetentionTask {
+
+    private final AuditLogService auditLogService;
+
+    @Scheduled(cron = "${app.audit.retention-cron:0 15 0 * * ?}") // Shortly after midnight, once the day's partition is closed
+    public void dropExpiredPartitions() {
+        log.info("Running scheduled task to drop expired audit log partitions");
+        auditLogService.applyRetention();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.personal_finance_tracker.app.scheduled;
+
+import com.example.personal_finance_tracker.app.services.EmailDispatcher;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmailQueueRetentionTask {
+
+    private final EmailDispatcher emailDispatcher;
+
+    @Scheduled(cron = "${app.email.queue.retention-cron:0 30 0 * * ?}")
+    public void deleteSentEmails() {
+        log.info("Running scheduled task to delete sent emails past retention");
+        emailDispatcher.applyRetention();
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.personal_finance_tracker.app.security;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Set;
+
+/**
+ * Holds quota permits for the duration of requests to the routes in {@code app.quota.routes}.
+ * For a request that goes async, such as a streamed export, the permit is held until the async
+ * request completes, times out or fails, not just until the handler returns.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiQuotaInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ApiQuotaInterceptor.class.getName() + ".PERMIT";
+
+    private final ApiQuotaProperties properties;
+    private final ApiQuotaManager quotaManager;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserDetailsImpl user)) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        for (ApiQuotaProperties.Route route : properties.getRoutes()) {
+            if (pathMatcher.match(route.getPath(), path) && producesMatch(route, request)) {
+                int weight = route.getWeight();
+                if (route.getEndpointClass() == ApiQuotaProperties.EndpointClass.SEARCH) {
+                    weight += requestedRows(request) / properties.getSearchRowsPerPermit();
+                }
+                request.setAttribute(PERMIT_ATTRIBUTE, quotaManager.acquire(user.getId(), route.getEndpointClass(), weight));
+                break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // afterCompletion is skipped for this dispatch and may never run if the client goes away mid-stream,
+        // so the container's own completion callback releases the permit
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof ApiQuotaManager.Permit permit) {
+            request.getAsyncContext().addListener(new PermitReleasingListener(permit));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof ApiQuotaManager.Permit permit) {
+            permit.release();
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean producesMatch(ApiQuotaProperties.Route route, HttpServletRequest request) {
+        if (route.getProduces() == null) {
+            return true;
+        }
+        Object producible = request.getAttribute(HandlerMapping.PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE);
+        return producible instanceof Set<?> mediaTypes
+                && ((Set<MediaType>) mediaTypes).contains(MediaType.parseMediaType(route.getProduces()));
+    }
+
+    private int requestedRows(HttpServletRequest request) {
+        try {
+            String size = request.getParameter("size");
+            return size == null ? 0 : Math.max(0, Integer.parseInt(size));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private record PermitReleasingListener(ApiQuotaManager.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Re-register for a nested startAsync, which drops earlier listeners
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.personal_finance_tracker.app.security;
+
+import com.example.personal_finance_tracker.app.exceptions.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Weighted admission control keyed by user id. Callers queue in FIFO order on fair semaphores:
+ * first on their own budget, so one user cannot fill the shared queue, then on the shared budget.
+ */
+@Slf4j
+@Component
+public class ApiQuotaManager {
+
+    private final ApiQuotaProperties properties;
+    private final Semaphore globalPermits;
+    private final Cache<Long, Semaphore> userPermits;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final Map<ApiQuotaProperties.EndpointClass, Timer> waitTimers = new EnumMap<>(ApiQuotaProperties.EndpointClass.class);
+    private final Map<ApiQuotaProperties.EndpointClass, Counter> queueFullRejections = new EnumMap<>(ApiQuotaProperties.EndpointClass.class);
+    private final Map<ApiQuotaProperties.EndpointClass, Counter> timeoutRejections = new EnumMap<>(ApiQuotaProperties.EndpointClass.class);
+
+    public ApiQuotaManager(ApiQuotaProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.globalPermits = new Semaphore(properties.getGlobalPermits(), true);
+        this.userPermits = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+
+        Gauge.builder("api.quota.queue.depth", queueDepth, AtomicInteger::get)
+                .description("Requests waiting for quota permits")
+                .register(meterRegistry);
+        Gauge.builder("api.quota.permits.available", globalPermits, Semaphore::availablePermits)
+                .description("Shared quota permits currently available")
+                .register(meterRegistry);
+        for (ApiQuotaProperties.EndpointClass endpointClass : ApiQuotaProperties.EndpointClass.values()) {
+            String tag = endpointClass.name().toLowerCase();
+            waitTimers.put(endpointClass, Timer.builder("api.quota.wait")
+                    .tag("class", tag)
+                    .register(meterRegistry));
+            queueFullRejections.put(endpointClass, Counter.builder("api.quota.rejected")
+                    .tag("class", tag).tag("reason", "queue_full")
+                    .register(meterRegistry));
+            timeoutRejections.put(endpointClass, Counter.builder("api.quota.rejected")
+                    .tag("class", tag).tag("reason", "timeout")
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Blocks until {@code weight} permits are available for the user, or throws
+     * {@link RateLimitExceededException} when the queue is full or the wait times out.
+     */
+    public Permit acquire(Long userId, ApiQuotaProperties.EndpointClass endpointClass, int weight) {
+        int permits = Math.max(1, Math.min(weight, Math.min(properties.getUserPermits(), properties.getGlobalPermits())));
+        long retryAfterSeconds = Math.max(1, properties.getQueueTimeout().toSeconds());
+
+        if (queueDepth.incrementAndGet() > properties.getMaxQueueDepth()) {
+            queueDepth.decrementAndGet();
+            queueFullRejections.get(endpointClass).increment();
+            log.warn("Quota queue full, rejecting {} request from user {}", endpointClass, userId);
+            throw new RateLimitExceededException("Server is busy. Try again later.", retryAfterSeconds);
+        }
+
+        Semaphore userSemaphore = userPermits.get(userId, id -> new Semaphore(properties.getUserPermits(), true));
+        long start = System.nanoTime();
+        long deadline = start + properties.getQueueTimeout().toNanos();
+        try {
+            if (!userSemaphore.tryAcquire(permits, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                throw timeout(userId, endpointClass, retryAfterSeconds);
+            }
+            if (!globalPermits.tryAcquire(permits, deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                userSemaphore.release(permits);
+                throw timeout(userId, endpointClass, retryAfterSeconds);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RateLimitExceededException("Request interrupted while waiting for capacity.", retryAfterSeconds);
+        } finally {
+            queueDepth.decrementAndGet();
+            waitTimers.get(endpointClass).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return new Permit(userSemaphore, permits);
+    }
+
+    private RateLimitExceededException timeout(Long userId, ApiQuotaProperties.EndpointClass endpointClass, long retryAfterSeconds) {
+        timeoutRejections.get(endpointClass).increment();
+        log.warn("Timed out waiting for {} quota for user {}", endpointClass, userId);
+        return new RateLimitExceededException("Too many concurrent requests. Try again later.", retryAfterSeconds);
+    }
+
+    public final class Permit {
+        private final Semaphore userSemaphore;
+        private final int permits;
+        private boolean released;
+
+        private Permit(Semaphore userSemaphore, int permits) {
+            this.userSemaphore = userSemaphore;
+            this.permits = permits;
+        }
+
+        public synchronized void release() {
+            if (!released) {
+                released = true;
+                globalPermits.release(permits);
+                userSemaphore.release(permits);
+            }
+        }
+    }
+}
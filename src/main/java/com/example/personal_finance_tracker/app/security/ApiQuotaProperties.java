@@ -0,0 +1,51 @@
+package com.example.personal_finance_tracker.app.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-user admission control for expensive endpoints, bound from {@code app.quota.*}.
+ * Each matched request costs {@code weight} permits from both the caller's own budget
+ * and the shared budget, which should stay below the connection pool size.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.quota")
+public class ApiQuotaProperties {
+
+    private boolean enabled = true;
+
+    private int userPermits = 4;
+
+    private int globalPermits = 8;
+
+    private Duration queueTimeout = Duration.ofSeconds(5);
+
+    private int maxQueueDepth = 32;
+
+    // Search requests cost one extra permit per this many requested rows
+    private int searchRowsPerPermit = 100;
+
+    private List<Route> routes = new ArrayList<>();
+
+    public enum EndpointClass {
+        EXPORT,
+        IMPORT,
+        SEARCH,
+        SUMMARY
+    }
+
+    @Data
+    public static class Route {
+        private String path;
+        private EndpointClass endpointClass;
+        private int weight = 1;
+        // When set, only handlers mapped with this media type in produces match, e.g. the NDJSON variant of a route
+        private String produces;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.personal_finance_tracker.app.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password hashing setup. The BCrypt cost is calibrated on the host at startup so that a single
+ * hash takes roughly {@code app.security.password.target-hash-ms}; hashes stored with a lower cost
+ * (or without an encoder id, as all legacy hashes are) are re-hashed on the next successful login.
+ */
+@Slf4j
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT_ID = "bcrypt";
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    private static final int CALIBRATION_SAMPLES = 3;
+
+    @Value("${app.security.password.target-hash-ms:100}")
+    private long targetHashMs;
+
+    @Value("${app.security.password.bcrypt-strength:0}")
+    private int configuredStrength;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        int strength = configuredStrength > 0 ? configuredStrength : calibrateStrength();
+        log.info("Using BCrypt strength {} for password hashing", strength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT_ID, new BCryptPasswordEncoder(strength));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(BCRYPT_ID, encoders);
+        // Hashes written before the encoder id prefix was introduced are plain BCrypt
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
+    }
+
+    /**
+     * Picks the highest strength whose median hash time stays within the target.
+     * Never goes below the BCrypt default so calibration can only make hashes stronger.
+     */
+    private int calibrateStrength() {
+        int chosen = MIN_STRENGTH;
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            long medianMs = measureHashMillis(new BCryptPasswordEncoder(strength));
+            log.debug("BCrypt strength {} takes {}ms on this host", strength, medianMs);
+            if (medianMs > targetHashMs) {
+                break;
+            }
+            chosen = strength;
+        }
+        return chosen;
+    }
+
+    private long measureHashMillis(PasswordEncoder encoder) {
+        long[] samples = new long[CALIBRATION_SAMPLES];
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("calibration-password");
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[CALIBRATION_SAMPLES / 2];
+    }
+}
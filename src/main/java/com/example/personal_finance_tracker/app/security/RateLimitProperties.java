@@ -0,0 +1,39 @@
+package com.example.personal_finance_tracker.app.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route rate limit policies, bound from {@code app.rate-limit.*}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on tracked client keys per policy; least recently used keys are evicted first
+    private long maxKeys = 100_000;
+
+    private List<Policy> policies = new ArrayList<>();
+
+    public enum Algorithm {
+        TOKEN_BUCKET,
+        SLIDING_WINDOW
+    }
+
+    @Data
+    public static class Policy {
+        private String name;
+        private String path;
+        private Algorithm algorithm = Algorithm.TOKEN_BUCKET;
+        private int limit;
+        private Duration window = Duration.ofMinutes(1);
+    }
+}
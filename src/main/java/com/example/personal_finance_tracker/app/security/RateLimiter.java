@@ -0,0 +1,190 @@
+package com.example.personal_finance_tracker.app.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rate limiting engine. Every policy keeps its per-client state in a size-bounded, expiring
+ * Caffeine cache, and each client's state is a single {@link AtomicLong} updated with CAS,
+ * so checking a request never takes a lock.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final long COUNT_MASK = 0xFFFFL;
+    private static final long WINDOW_MASK = 0xFFFFFFFFL;
+    private static final int MAX_SLIDING_WINDOW_LIMIT = (int) COUNT_MASK;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<PolicyState> policies = new ArrayList<>();
+    private final boolean enabled;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            validate(policy);
+            policies.add(new PolicyState(policy, properties.getMaxKeys(), pathMatcher.isPattern(policy.getPath())));
+            log.info("Rate limit policy '{}' on {}: {} requests per {} ({})",
+                    policy.getName(), policy.getPath(), policy.getLimit(), policy.getWindow(), policy.getAlgorithm());
+        }
+    }
+
+    /**
+     * Consumes one permit for the given client key on the first policy matching the path.
+     *
+     * @return the decision, or {@code null} when no policy applies to the path
+     */
+    public Decision tryAcquire(String path, String key) {
+        if (!enabled) {
+            return null;
+        }
+        for (PolicyState policy : policies) {
+            if (policy.pattern ? pathMatcher.match(policy.path, path) : policy.path.equals(path)) {
+                AtomicLong state = policy.states.get(key, k -> new AtomicLong(EMPTY));
+                return policy.algorithm == RateLimitProperties.Algorithm.SLIDING_WINDOW
+                        ? slidingWindow(policy, state, System.currentTimeMillis())
+                        : tokenBucket(policy, state, System.nanoTime());
+            }
+        }
+        return null;
+    }
+
+    public long trackedKeys() {
+        return policies.stream().mapToLong(policy -> policy.states.estimatedSize()).sum();
+    }
+
+    /**
+     * Token bucket expressed as GCRA: the state is the theoretical arrival time of the next
+     * request, so a bucket of {@code limit} tokens refilled over {@code window} fits in one long.
+     */
+    private Decision tokenBucket(PolicyState policy, AtomicLong state, long now) {
+        long interval = policy.intervalNanos;
+        long window = policy.windowNanos;
+        while (true) {
+            long stored = state.get();
+            long tat = (stored == EMPTY || stored - now < 0) ? now : stored;
+            long newTat = tat + interval;
+            long backlog = newTat - now;
+
+            if (backlog > window) {
+                long retryAfterNanos = backlog - window;
+                return Decision.rejected(policy, 0, toSeconds(tat - now), toSeconds(retryAfterNanos));
+            }
+            if (state.compareAndSet(stored, newTat)) {
+                int remaining = (int) ((window - backlog) / interval);
+                return Decision.allowed(policy, remaining, toSeconds(backlog));
+            }
+        }
+    }
+
+    /**
+     * Sliding window counter: the previous window's count is weighted by how much of it still
+     * overlaps the sliding window. Window id and both counts are packed into one long.
+     */
+    private Decision slidingWindow(PolicyState policy, AtomicLong state, long nowMillis) {
+        long windowMillis = policy.windowMillis;
+        long windowId = (nowMillis / windowMillis) & WINDOW_MASK;
+        long elapsed = nowMillis % windowMillis;
+        long resetMillis = windowMillis - elapsed;
+
+        while (true) {
+            long stored = state.get();
+            long previous = 0;
+            long current = 0;
+            if (stored != EMPTY) {
+                long storedWindow = stored >>> 32;
+                long storedCurrent = (stored >>> 16) & COUNT_MASK;
+                long storedPrevious = stored & COUNT_MASK;
+                if (storedWindow == windowId) {
+                    current = storedCurrent;
+                    previous = storedPrevious;
+                } else if (storedWindow == ((windowId - 1) & WINDOW_MASK)) {
+                    previous = storedCurrent;
+                }
+            }
+
+            double weight = (double) (windowMillis - elapsed) / windowMillis;
+            double estimated = previous * weight + current;
+
+            if (estimated + 1 > policy.limit) {
+                long retryAfterMillis = current + 1 > policy.limit || previous == 0
+                        ? resetMillis
+                        : (long) Math.ceil(windowMillis * (1 - (policy.limit - current - 1) / (double) previous)) - elapsed;
+                return Decision.rejected(policy, 0, toSeconds(resetMillis * 1_000_000L),
+                        toSeconds(Math.max(retryAfterMillis, 1) * 1_000_000L));
+            }
+
+            long updated = (windowId << 32) | ((current + 1) << 16) | previous;
+            if (state.compareAndSet(stored, updated)) {
+                int remaining = (int) Math.max(0, Math.floor(policy.limit - estimated - 1));
+                return Decision.allowed(policy, remaining, toSeconds(resetMillis * 1_000_000L));
+            }
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+    }
+
+    private static void validate(RateLimitProperties.Policy policy) {
+        if (policy.getPath() == null || policy.getLimit() <= 0 || policy.getWindow() == null
+                || policy.getWindow().toMillis() <= 0) {
+            throw new IllegalStateException("Invalid rate limit policy: " + policy);
+        }
+        if (policy.getAlgorithm() == RateLimitProperties.Algorithm.SLIDING_WINDOW
+                && policy.getLimit() > MAX_SLIDING_WINDOW_LIMIT) {
+            throw new IllegalStateException("Sliding window limit cannot exceed " + MAX_SLIDING_WINDOW_LIMIT + ": " + policy);
+        }
+    }
+
+    public record Decision(boolean allowed, int limit, int remaining, long resetSeconds,
+                           long retryAfterSeconds, String policy) {
+
+        private static Decision allowed(PolicyState policy, int remaining, long resetSeconds) {
+            return new Decision(true, policy.limit, remaining, resetSeconds, 0, policy.header);
+        }
+
+        private static Decision rejected(PolicyState policy, int remaining, long resetSeconds, long retryAfterSeconds) {
+            return new Decision(false, policy.limit, remaining, resetSeconds, retryAfterSeconds, policy.header);
+        }
+    }
+
+    private static final class PolicyState {
+        private final String path;
+        private final boolean pattern;
+        private final RateLimitProperties.Algorithm algorithm;
+        private final int limit;
+        private final long windowNanos;
+        private final long windowMillis;
+        private final long intervalNanos;
+        private final String header;
+        private final Cache<String, AtomicLong> states;
+
+        private PolicyState(RateLimitProperties.Policy policy, long maxKeys, boolean pattern) {
+            this.path = policy.getPath();
+            this.pattern = pattern;
+            this.algorithm = policy.getAlgorithm();
+            this.limit = policy.getLimit();
+            this.windowMillis = policy.getWindow().toMillis();
+            this.windowNanos = policy.getWindow().toNanos();
+            this.intervalNanos = Math.max(1, windowNanos / limit);
+            this.header = limit + ";w=" + policy.getWindow().toSeconds();
+            // Idle keys carry no information once a full window (two for sliding windows) has passed
+            long idleMillis = algorithm == RateLimitProperties.Algorithm.SLIDING_WINDOW ? windowMillis * 2 : windowMillis;
+            this.states = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleMillis, TimeUnit.MILLISECONDS)
+                    .build();
+        }
+    }
+}
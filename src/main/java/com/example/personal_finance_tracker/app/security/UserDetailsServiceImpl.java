@@ -5,6 +5,7 @@ import com.example.personal_finance_tracker.app.services.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.LockedException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -12,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserService userService;
 
@@ -39,4 +40,18 @@ public class UserDetailsServiceImpl implements UserDetailsService {
         log.info("Successfully loaded user details for username: {}", username);
         return UserDetailsImpl.build(user);
     }
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        log.info("Upgrading password hash for username: {}", user.getUsername());
+        userService.upgradePasswordHash(user.getUsername(), newPassword);
+
+        UserDetailsImpl details = (UserDetailsImpl) user;
+        return new UserDetailsImpl(
+                details.getId(),
+                details.getUsername(),
+                details.getEmail(),
+                newPassword,
+                details.getAuthorities());
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.config.AuditProperties;
+import com.example.personal_finance_tracker.app.exceptions.ResourceNotFoundException;
+import com.example.personal_finance_tracker.app.exceptions.ValidationException;
+import com.example.personal_finance_tracker.app.models.dto.AuditLogPage;
+import com.example.personal_finance_tracker.app.models.dto.AuditRecord;
+import com.example.personal_finance_tracker.app.repository.AuditLogStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Search and retention over the daily audit partitions. Searches page by keyset (day and id of the
+ * last row returned) rather than by offset, so a deep page costs no more than the first one, and they
+ * never read a partition outside the requested days or the retention window.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuditLogService {
+
+    private static final DateTimeFormatter CURSOR_DAY = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final AuditLogStore auditLogStore;
+    private final AuditProperties auditProperties;
+
+    @Transactional(readOnly = true)
+    public AuditLogPage search(LocalDate from, LocalDate to, String entityName, String entityId, String username,
+                               String cursor, int size) {
+        LocalDate oldestRetained = oldestRetainedDay();
+        LocalDate newest = to != null ? to : LocalDate.now();
+        LocalDate oldest = from != null && from.isAfter(oldestRetained) ? from : oldestRetained;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.parse(cursor);
+            if (after.day().isBefore(newest)) {
+                newest = after.day();
+            }
+            beforeId = after.day().equals(newest) ? after.id() : null;
+        }
+
+        List<AuditRecord> items = new ArrayList<>(size);
+        try {
+            if (!oldest.isAfter(newest)) {
+                for (LocalDate day : auditLogStore.partitionsBetween(oldest, newest)) {
+                    items.addAll(auditLogStore.findInPartition(day, blankToNull(entityName), blankToNull(entityId),
+                            blankToNull(username), day.equals(newest) ? beforeId : null, size - items.size()));
+                    if (items.size() == size) {
+                        break;
+                    }
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("Failed to search audit logs", e);
+            throw new ResourceNotFoundException("Failed to search audit logs");
+        }
+
+        String nextCursor = null;
+        if (items.size() == size) {
+            AuditRecord last = items.get(items.size() - 1);
+            nextCursor = new Cursor(last.partition(), last.id()).toString();
+        }
+        return new AuditLogPage(items, nextCursor);
+    }
+
+    /**
+     * Drops the partitions of days that have left the retention window.
+     */
+    public int applyRetention() {
+        int dropped = auditLogStore.dropPartitionsBefore(oldestRetainedDay());
+        if (dropped > 0) {
+            log.info("Dropped {} audit log partitions older than {} days", dropped, auditProperties.getRetention().toDays());
+        }
+        return dropped;
+    }
+
+    private LocalDate oldestRetainedDay() {
+        return LocalDate.now().minusDays(Math.max(1, auditProperties.getRetention().toDays()) - 1);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // Position after the last returned row, encoded as "yyyyMMdd-id"
+    private record Cursor(LocalDate day, long id) {
+
+        static Cursor parse(String cursor) {
+            int separator = cursor.indexOf('-');
+            try {
+                return new Cursor(LocalDate.parse(cursor.substring(0, Math.max(0, separator)), CURSOR_DAY),
+                        Long.parseLong(cursor.substring(separator + 1)));
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new ValidationException("cursor", "Invalid cursor");
+            }
+        }
+
+        @Override
+        public String toString() {
+            return day.format(CURSOR_DAY) + "-" + id;
+        }
+    }
+}
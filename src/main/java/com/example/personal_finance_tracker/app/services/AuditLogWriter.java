@@ -0,0 +1,191 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.config.AuditProperties;
+import com.example.personal_finance_tracker.app.models.dto.AuditEvent;
+import com.example.personal_finance_tracker.app.repository.AuditLogStore;
+import com.example.personal_finance_tracker.app.utils.RingBuffer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes audit events to the {@link AuditLogStore} off the caller's thread. Producers only enqueue into a
+ * bounded lock-free ring buffer; one writer thread drains it and inserts whatever has accumulated as a
+ * single JDBC batch on one connection. A bulk import therefore costs a handful of batched inserts
+ * instead of a {@code REQUIRES_NEW} transaction and a second pooled connection per row.
+ * <p>
+ * What happens when the buffer is full is governed by {@code app.audit.overflow-policy}; dropped
+ * events are counted in {@code audit.events.dropped}. Buffered events are written on shutdown.
+ */
+@Slf4j
+@Service
+public class AuditLogWriter {
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final AuditProperties properties;
+    private final AuditLogStore auditLogStore;
+    private final RingBuffer<AuditEvent> buffer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public AuditLogWriter(AuditProperties properties, AuditLogStore auditLogStore, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.auditLogStore = auditLogStore;
+        this.buffer = new RingBuffer<>(properties.getBufferCapacity());
+
+        Gauge.builder("audit.buffer.size", buffer, RingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        this.writtenCounter = Counter.builder("audit.events.written").register(meterRegistry);
+        this.droppedCounter = Counter.builder("audit.events.dropped")
+                .tag("policy", properties.getOverflowPolicy().name().toLowerCase())
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("audit.events.failed").register(meterRegistry);
+        this.batchTimer = Timer.builder("audit.batch.write").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::drainLoop, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Audit writer started with buffer capacity {}, batch size {}, overflow policy {}",
+                buffer.capacity(), properties.getBatchSize(), properties.getOverflowPolicy());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(properties.getShutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writerThread.isAlive() || !buffer.isEmpty()) {
+            log.warn("Audit writer stopped with {} events not written", buffer.size());
+        }
+    }
+
+    /**
+     * Queues an event without touching the database. Returns false if the event was dropped.
+     */
+    public boolean submit(AuditEvent event) {
+        if (buffer.offer(event)) {
+            if (buffer.size() >= properties.getBatchSize()) {
+                LockSupport.unpark(writerThread);
+            }
+            return true;
+        }
+        return switch (properties.getOverflowPolicy()) {
+            case BLOCK -> offerUntil(event, System.nanoTime() + properties.getBlockTimeout().toNanos());
+            case DROP_OLDEST -> replaceOldest(event);
+            case DROP_NEWEST -> dropped(event);
+        };
+    }
+
+    /**
+     * Queues a group of events, in order. Under the BLOCK policy the whole group shares one
+     * {@code block-timeout}, so a caller waits at most that long however many events it submits;
+     * once it has passed, events that do not fit are dropped. Returns the number of events queued.
+     */
+    public int submitAll(List<AuditEvent> events) {
+        long deadline = System.nanoTime() + properties.getBlockTimeout().toNanos();
+        int queued = 0;
+        for (AuditEvent event : events) {
+            boolean accepted = buffer.offer(event) || switch (properties.getOverflowPolicy()) {
+                case BLOCK -> offerUntil(event, deadline);
+                case DROP_OLDEST -> replaceOldest(event);
+                case DROP_NEWEST -> dropped(event);
+            };
+            if (accepted) {
+                queued++;
+            }
+        }
+        if (buffer.size() >= properties.getBatchSize()) {
+            LockSupport.unpark(writerThread);
+        }
+        return queued;
+    }
+
+    public int pending() {
+        return buffer.size();
+    }
+
+    private boolean offerUntil(AuditEvent event, long deadline) {
+        do {
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline);
+        return dropped(event);
+    }
+
+    private boolean replaceOldest(AuditEvent event) {
+        LockSupport.unpark(writerThread);
+        while (!buffer.offer(event)) {
+            AuditEvent oldest = buffer.poll();
+            if (oldest != null) {
+                dropped(oldest);
+            }
+        }
+        return true;
+    }
+
+    private boolean dropped(AuditEvent event) {
+        droppedCounter.increment();
+        log.debug("Audit buffer full, dropped {} of {} {}", event.method(), event.entityName(), event.entityId());
+        return false;
+    }
+
+    private void drainLoop() {
+        List<AuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        long idleNanos = properties.getIdleWait().toNanos();
+        while (running || !buffer.isEmpty()) {
+            buffer.drainTo(batch, properties.getBatchSize());
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, idleNanos);
+                continue;
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            auditLogStore.append(batch);
+            writtenCounter.increment(batch.size());
+        } catch (DataAccessException e) {
+            // Auditing must not take the writer thread down; the batch is lost and counted
+            failedCounter.increment(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), e);
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.error("Unexpected error while writing {} audit events", batch.size(), e);
+        } finally {
+            batchTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -17,6 +17,8 @@ import com.example.personal_finance_tracker.app.security.UserDetailsImpl;
 import com.warrenstrange.googleauth.GoogleAuthenticatorException;
 import jakarta.mail.MessagingException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.security.authentication.*;
 import org.springframework.security.core.Authentication;
@@ -30,6 +32,12 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
@@ -46,8 +54,15 @@ public class AuthService implements AuthServiceInterface {
     private final TokenRegistryService blacklistedTokenRegistryService;
     private final TokenRegistryService tokenRegistryService;
     private final EmailService emailService;
+    private final ThreadPoolExecutor loginExecutor;
 
-    public AuthService(AuthenticationManager authenticationManager, UserService userService, RoleService roleService, PasswordEncoder encoder, JwtUtil jwtUtils, UserRepo userRepo, GAService gaService, TokenRegistryRepository tokenRegistryRepository, TokenRegistryService blacklistedTokenRegistryService, TokenRegistryService tokenRegistryService, EmailService emailService) {
+    @Value("${app.login.verify-timeout-ms:5000}")
+    private long verifyTimeoutMs;
+
+    @Value("${app.login.retry-after-seconds:2}")
+    private long retryAfterSeconds;
+
+    public AuthService(AuthenticationManager authenticationManager, UserService userService, RoleService roleService, PasswordEncoder encoder, JwtUtil jwtUtils, UserRepo userRepo, GAService gaService, TokenRegistryRepository tokenRegistryRepository, TokenRegistryService blacklistedTokenRegistryService, TokenRegistryService tokenRegistryService, EmailService emailService, @Qualifier("loginExecutor") ThreadPoolExecutor loginExecutor) {
         this.authenticationManager = authenticationManager;
         this.userService = userService;
         this.roleService = roleService;
@@ -59,6 +74,7 @@ public class AuthService implements AuthServiceInterface {
         this.blacklistedTokenRegistryService = blacklistedTokenRegistryService;
         this.tokenRegistryService = tokenRegistryService;
         this.emailService = emailService;
+        this.loginExecutor = loginExecutor;
     }
 
     @Override
@@ -77,7 +93,7 @@ public class AuthService implements AuthServiceInterface {
             } else {
                 return handleStandardAuthentication(user, authentication, userDetails);
             }
-        } catch (LockedException | BadCredentialsException e) {
+        } catch (LockedException | BadCredentialsException | RateLimitExceededException e) {
             // These are already handled and should be propagated
             throw e;
         } catch (UsernameNotFoundException e) {
@@ -108,29 +124,54 @@ public class AuthService implements AuthServiceInterface {
 
     private Authentication performAuthentication(LoginRequest loginRequest) {
         try {
-            return authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword()));
+            return verifyOnLoginExecutor(new UsernamePasswordAuthenticationToken(
+                    loginRequest.getUsername(),
+                    loginRequest.getPassword()));
         } catch (BadCredentialsException e) {
             handleFailedAuthentication(loginRequest.getUsername());
             throw e;
         }
     }
 
+    /**
+     * Runs the (deliberately expensive) password check on the bounded login pool.
+     * When the pool is saturated the login is shed with a 429 instead of queueing on a request thread.
+     */
+    private Authentication verifyOnLoginExecutor(UsernamePasswordAuthenticationToken token) {
+        Future<Authentication> future;
+        try {
+            future = loginExecutor.submit(() -> authenticationManager.authenticate(token));
+        } catch (RejectedExecutionException e) {
+            log.warn("Login executor saturated, shedding login for user: {}", token.getName());
+            throw new RateLimitExceededException("Too many login attempts in progress. Please retry shortly.", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(verifyTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Password verification timed out for user: {}", token.getName());
+            throw new RateLimitExceededException("Login is taking longer than expected. Please retry shortly.", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Interrupted while verifying credentials", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AuthenticationServiceException("Credential verification failed", e.getCause());
+        }
+    }
+
     private void handleFailedAuthentication(String username) {
         log.warn("Authentication failed due to bad credentials for user: {}", username);
         User user = userRepo.findByUsername(username).orElse(null);
 
         if (user != null) {
-            log.info("Incrementing failed login attempts for user: {}", username);
+            log.info("Recording failed login attempt for user: {}", username);
             try {
-                userService.incrementFailedAttempts(user);
-
-                if (userService.isMaxFailedAttemptsReached(user)) {
-                    log.warn("Max failed attempts reached, locking account for user: {}", username);
-                    userService.lockUser(user);
-                }
+                // Increments the counter and applies the lock in a single UPDATE
+                userService.recordFailedLogin(user);
             } catch (Exception ex) {
                 log.error("Error handling failed login attempt for user: {}", username, ex);
                 // Continue with throwing the original exception
@@ -227,12 +268,9 @@ public class AuthService implements AuthServiceInterface {
 
     private void updateUserLoginData(User user) {
         try {
-            log.info("Resetting failed login attempts for user: {}", user.getUsername());
-            userService.resetFailedAttempts(user.getUsername());
-            log.info("Updating last login date for user: {}", user.getUsername());
-            user.updateLastLoginDate();
-            userRepo.save(user);
-        } catch (DataAccessException e) {
+            log.info("Recording successful login for user: {}", user.getUsername());
+            userService.recordSuccessfulLogin(user);
+        } catch (DataAccessException | ResourceNotFoundException e) {
             log.warn("Failed to update user login data for: {}", user.getUsername(), e);
             // Continue with authentication despite update failure
         }
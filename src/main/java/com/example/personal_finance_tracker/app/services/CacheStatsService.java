@@ -0,0 +1,246 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.utils.LogCollector;
+import com.example.personal_finance_tracker.app.utils.ObjectSizeEstimator;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cache statistics read from Caffeine's own counters ({@code recordStats()}). The same counters are
+ * bound to Micrometer by the actuator cache metrics ({@code cache.gets}, {@code cache.evictions}, ...),
+ * so nothing is measured on the cache call path itself. History for the charts is sampled on a timer.
+ */
+@Slf4j
+@Service
+public class CacheStatsService {
+
+    private static final int MAX_HISTORY_SIZE = 30;
+    private static final DateTimeFormatter HISTORY_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss");
+    private static final DateTimeFormatter LOG_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS");
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.cache.sizing.sample-entries:200}")
+    private int sizingSampleEntries;
+
+    // Counters at the last reset, subtracted so /api/cache/reset works although Caffeine stats are cumulative
+    private final Map<String, CacheStats> baselines = new HashMap<>();
+    private final Map<String, CacheStats> lastSamples = new HashMap<>();
+    // Sliding windows of MAX_HISTORY_SIZE samples
+    private final Deque<String> timestamps = new ArrayDeque<>();
+    private final Map<String, Deque<Double>> hitRates = new LinkedHashMap<>();
+
+    public CacheStatsService(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public synchronized Map<String, Object> getCacheStats() {
+        Map<String, Object> stats = new HashMap<>();
+        Map<String, Map<String, Object>> cachesStats = new LinkedHashMap<>();
+        long totalHits = 0;
+        long totalMisses = 0;
+        long totalEvictions = 0;
+
+        for (String cacheName : cacheManager.getCacheNames()) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(cacheName);
+            if (nativeCache == null) {
+                continue;
+            }
+            CacheStats cacheStats = sinceReset(cacheName, nativeCache.stats());
+            totalHits += cacheStats.hitCount();
+            totalMisses += cacheStats.missCount();
+            totalEvictions += cacheStats.evictionCount();
+
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("hits", cacheStats.hitCount());
+            entry.put("misses", cacheStats.missCount());
+            entry.put("evictions", cacheStats.evictionCount());
+            entry.put("hitRate", percent(cacheStats.hitCount(), cacheStats.missCount()));
+            entry.put("loads", cacheStats.loadCount());
+            entry.put("loadFailures", cacheStats.loadFailureCount());
+            entry.put("averageLoadMillis", cacheStats.averageLoadPenalty() / 1_000_000.0);
+            entry.put("size", nativeCache.estimatedSize());
+            cachesStats.put(cacheName, entry);
+        }
+
+        stats.put("totalHits", totalHits);
+        stats.put("totalMisses", totalMisses);
+        stats.put("totalEvictions", totalEvictions);
+        stats.put("hitRate", percent(totalHits, totalMisses));
+        stats.put("caches", cachesStats);
+        stats.put("timestamps", new ArrayList<>(timestamps));
+        stats.put("hitRates", copyHistory());
+        return stats;
+    }
+
+    /**
+     * Estimated memory and configured limits per cache. Memory is extrapolated from a sample of
+     * entries, so it is an order-of-magnitude figure meant for sizing the policies, not for accounting.
+     */
+    public Map<String, Object> getSizingReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> caches = new LinkedHashMap<>();
+        long totalBytes = 0;
+
+        for (String cacheName : cacheManager.getCacheNames()) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(cacheName);
+            if (nativeCache == null) {
+                continue;
+            }
+            Policy<Object, Object> policy = nativeCache.policy();
+            ObjectSizeEstimator estimator = new ObjectSizeEstimator();
+            long entries = nativeCache.estimatedSize();
+            long sampledBytes = 0;
+            int sampled = 0;
+            for (Map.Entry<Object, Object> entry : nativeCache.asMap().entrySet()) {
+                if (sampled >= sizingSampleEntries) {
+                    break;
+                }
+                sampledBytes += estimator.sizeOf(entry.getKey()) + estimator.sizeOf(entry.getValue());
+                sampled++;
+            }
+            long estimatedBytes = sampled == 0 ? 0 : sampledBytes * entries / sampled;
+            totalBytes += estimatedBytes;
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("entries", entries);
+            entry.put("sampledEntries", sampled);
+            entry.put("estimatedBytes", estimatedBytes);
+            entry.put("averageEntryBytes", sampled == 0 ? 0 : sampledBytes / sampled);
+            policy.eviction().ifPresent(eviction -> {
+                entry.put("weighted", eviction.isWeighted());
+                entry.put("maximum", eviction.getMaximum());
+                eviction.weightedSize().ifPresent(weight -> entry.put("weightedSize", weight));
+            });
+            policy.expireAfterWrite().ifPresent(expiry -> entry.put("expireAfterWrite", expiry.getExpiresAfter().toString()));
+            policy.expireAfterAccess().ifPresent(expiry -> entry.put("expireAfterAccess", expiry.getExpiresAfter().toString()));
+            policy.refreshAfterWrite().ifPresent(refresh -> entry.put("refreshAfterWrite", refresh.getRefreshesAfter().toString()));
+            caches.put(cacheName, entry);
+        }
+
+        report.put("totalEstimatedBytes", totalBytes);
+        report.put("caches", caches);
+        return report;
+    }
+
+    /**
+     * Per-region statistics of the Hibernate second-level and query caches.
+     */
+    public Map<String, Object> getHibernateCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Map<String, Object>> regions = new LinkedHashMap<>();
+
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region == null) {
+                continue;
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("hits", region.getHitCount());
+            entry.put("misses", region.getMissCount());
+            entry.put("puts", region.getPutCount());
+            entry.put("hitRate", percent(region.getHitCount(), region.getMissCount()));
+            // JCache regions do not expose their size; Hibernate reports a negative sentinel then
+            if (region.getElementCountInMemory() >= 0) {
+                entry.put("elementsInMemory", region.getElementCountInMemory());
+            }
+            regions.put(regionName, entry);
+        }
+
+        report.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        report.put("secondLevelCacheHits", statistics.getSecondLevelCacheHitCount());
+        report.put("secondLevelCacheMisses", statistics.getSecondLevelCacheMissCount());
+        report.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        report.put("queryCacheMisses", statistics.getQueryCacheMissCount());
+        report.put("regions", regions);
+        return report;
+    }
+
+    public synchronized void reset() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(cacheName);
+            if (nativeCache != null) {
+                CacheStats current = nativeCache.stats();
+                baselines.put(cacheName, current);
+                lastSamples.put(cacheName, current);
+            }
+        }
+        timestamps.clear();
+        hitRates.clear();
+        LogCollector.clearCacheLogs();
+        log.info("Cache statistics reset");
+    }
+
+    @Scheduled(fixedRateString = "${app.cache.stats.sample-interval-ms:10000}")
+    public synchronized void sample() {
+        LocalTime now = LocalTime.now();
+        if (timestamps.size() >= MAX_HISTORY_SIZE) {
+            timestamps.pollFirst();
+            hitRates.values().forEach(Deque::pollFirst);
+        }
+        timestamps.add(now.format(HISTORY_FORMAT));
+
+        for (String cacheName : cacheManager.getCacheNames()) {
+            com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = nativeCache(cacheName);
+            if (nativeCache == null) {
+                continue;
+            }
+            CacheStats current = nativeCache.stats();
+            CacheStats sinceReset = sinceReset(cacheName, current);
+            hitRates.computeIfAbsent(cacheName, k -> new ArrayDeque<>())
+                    .add(percent(sinceReset.hitCount(), sinceReset.missCount()));
+
+            CacheStats delta = current.minus(lastSamples.getOrDefault(cacheName, CacheStats.empty()));
+            lastSamples.put(cacheName, current);
+            if (delta.requestCount() > 0 || delta.evictionCount() > 0) {
+                LogCollector.addCacheLog(String.format("[%s] [%s] hits: %d, misses: %d, evictions: %d, size: %d",
+                        now.format(LOG_FORMAT), cacheName, delta.hitCount(), delta.missCount(),
+                        delta.evictionCount(), nativeCache.estimatedSize()));
+            }
+        }
+    }
+
+    private CacheStats sinceReset(String cacheName, CacheStats current) {
+        CacheStats baseline = baselines.get(cacheName);
+        return baseline == null ? current : current.minus(baseline);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        return cache instanceof CaffeineCache caffeineCache ? caffeineCache.getNativeCache() : null;
+    }
+
+    private Map<String, List<Double>> copyHistory() {
+        Map<String, List<Double>> copy = new LinkedHashMap<>();
+        hitRates.forEach((name, rates) -> copy.put(name, new ArrayList<>(rates)));
+        return copy;
+    }
+
+    private static double percent(long hits, long misses) {
+        return hits + misses > 0 ? (double) hits / (hits + misses) * 100 : 0;
+    }
+}
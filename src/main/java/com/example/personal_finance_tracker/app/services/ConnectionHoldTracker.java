@@ -0,0 +1,253 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.config.ConnectionDiagnosticsProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks every borrowed connection with the endpoint (or thread) that borrowed it and the transaction
+ * it serves. Borrowing only records that context; the holder's stack is sampled once, when a scan finds
+ * the connection still held past {@code app.diagnostics.connections.hold-threshold}. Released long holds
+ * are aggregated by call site, the outermost application frame below the web layer, so the report
+ * names the service method that pins a connection rather than the line it happened to be on.
+ */
+@Slf4j
+@Service
+public class ConnectionHoldTracker {
+
+    private static final String APP_PACKAGE = "com.example.personal_finance_tracker.";
+    private static final String[] WEB_LAYER = {APP_PACKAGE + "app.routes.", APP_PACKAGE + "app.security."};
+    private static final int MAX_ENDPOINTS_PER_SITE = 10;
+
+    private final ConnectionDiagnosticsProperties properties;
+    private final AtomicLong ids = new AtomicLong();
+    private final Map<Long, Lease> open = new ConcurrentHashMap<>();
+    private final Map<String, HoldStats> holds = new ConcurrentHashMap<>();
+
+    public ConnectionHoldTracker(ConnectionDiagnosticsProperties properties) {
+        this.properties = properties;
+    }
+
+    public Lease borrowed() {
+        Lease lease = new Lease(ids.incrementAndGet(), Thread.currentThread(), currentEndpoint());
+        lease.observeTransaction();
+        open.put(lease.id, lease);
+        return lease;
+    }
+
+    public void released(Lease lease) {
+        if (open.remove(lease.id) == null) {
+            return;
+        }
+        long heldNanos = System.nanoTime() - lease.acquiredNanos;
+        if (heldNanos < properties.getHoldThreshold().toNanos()) {
+            return;
+        }
+        if (lease.stack == null) {
+            // Released between two scans; the releasing stack still shows who held it
+            attribute(lease, new Throwable().getStackTrace());
+        }
+        holds.computeIfAbsent(lease.callSite, HoldStats::new).record(lease, heldNanos);
+    }
+
+    @Scheduled(fixedRateString = "${app.diagnostics.connections.scan-interval-ms:500}")
+    public void scan() {
+        long threshold = properties.getHoldThreshold().toNanos();
+        long now = System.nanoTime();
+        for (Lease lease : open.values()) {
+            long heldNanos = now - lease.acquiredNanos;
+            if (lease.stack == null && heldNanos >= threshold) {
+                attribute(lease, lease.thread.getStackTrace());
+                log.warn("Connection held for {} ms by {} (thread {}, transaction {}) at {}",
+                        TimeUnit.NANOSECONDS.toMillis(heldNanos), lease.endpoint, lease.thread.getName(),
+                        lease.transactionName, lease.callSite);
+            }
+        }
+    }
+
+    public Map<String, Object> getReport() {
+        long threshold = properties.getHoldThreshold().toNanos();
+        long now = System.nanoTime();
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("enabled", properties.isEnabled());
+        report.put("holdThresholdMs", properties.getHoldThreshold().toMillis());
+        report.put("openConnections", open.size());
+        report.put("longHoldsInProgress", open.values().stream()
+                .filter(lease -> now - lease.acquiredNanos >= threshold)
+                .sorted(Comparator.comparingLong(lease -> lease.acquiredNanos))
+                .map(lease -> lease.describe(now))
+                .toList());
+        report.put("topCallSites", holds.values().stream()
+                .sorted(Comparator.comparingLong((HoldStats stats) -> stats.totalNanos.sum()).reversed())
+                .limit(properties.getTopN())
+                .map(HoldStats::describe)
+                .toList());
+        return report;
+    }
+
+    public void reset() {
+        holds.clear();
+    }
+
+    private void attribute(Lease lease, StackTraceElement[] stack) {
+        StackTraceElement[] appFrames = Arrays.stream(stack)
+                .filter(frame -> frame.getClassName().startsWith(APP_PACKAGE))
+                .filter(frame -> !frame.getClassName().contains("$$"))
+                .filter(frame -> !frame.getClassName().startsWith(getClass().getName()))
+                .toArray(StackTraceElement[]::new);
+        lease.callSite = callSite(appFrames, lease.endpoint);
+        lease.stack = Arrays.stream(stack)
+                .limit(properties.getStackDepth())
+                .map(StackTraceElement::toString)
+                .toList();
+    }
+
+    // Outermost application frame outside controllers and filters; line numbers are left out so every
+    // hold inside the same method lands on the same row
+    private static String callSite(StackTraceElement[] appFrames, String endpoint) {
+        StackTraceElement site = null;
+        for (int i = appFrames.length - 1; i >= 0 && site == null; i--) {
+            if (!isWebLayer(appFrames[i].getClassName())) {
+                site = appFrames[i];
+            }
+        }
+        if (site == null && appFrames.length > 0) {
+            site = appFrames[appFrames.length - 1];
+        }
+        if (site == null) {
+            return endpoint;
+        }
+        String className = site.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + site.getMethodName();
+    }
+
+    private static boolean isWebLayer(String className) {
+        for (String prefix : WEB_LAYER) {
+            if (className.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        }
+        return "thread " + Thread.currentThread().getName();
+    }
+
+    public static final class Lease {
+
+        private final long id;
+        private final Thread thread;
+        private final String endpoint;
+        private final long acquiredNanos = System.nanoTime();
+        private final Instant acquiredAt = Instant.now();
+        private volatile String transactionName;
+        private volatile Instant transactionObservedAt;
+        private volatile String callSite;
+        private volatile List<String> stack;
+
+        Lease(long id, Thread thread, String endpoint) {
+            this.id = id;
+            this.thread = thread;
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Called on every use of the connection. A transaction manager borrows the connection before it
+         * publishes the transaction name, so the first use inside the transaction is what records it.
+         */
+        public void observeTransaction() {
+            if (transactionObservedAt == null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                String name = TransactionSynchronizationManager.getCurrentTransactionName();
+                transactionName = name != null ? name : "unnamed";
+                transactionObservedAt = Instant.now();
+            }
+        }
+
+        private Map<String, Object> describe(long now) {
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("endpoint", endpoint);
+            description.put("thread", thread.getName());
+            description.put("heldMs", TimeUnit.NANOSECONDS.toMillis(now - acquiredNanos));
+            description.put("acquiredAt", acquiredAt);
+            description.put("transaction", transactionName);
+            description.put("transactionObservedAt", transactionObservedAt);
+            description.put("callSite", callSite);
+            description.put("stack", stack);
+            return description;
+        }
+    }
+
+    private static final class HoldStats {
+
+        private final String callSite;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder transactional = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final Set<String> endpoints = ConcurrentHashMap.newKeySet();
+        private volatile Instant lastSeen;
+        private volatile List<String> sampleStack;
+
+        HoldStats(String callSite) {
+            this.callSite = callSite;
+        }
+
+        void record(Lease lease, long heldNanos) {
+            count.increment();
+            totalNanos.add(heldNanos);
+            maxNanos.accumulate(heldNanos);
+            if (lease.transactionName != null) {
+                transactional.increment();
+            }
+            if (endpoints.size() < MAX_ENDPOINTS_PER_SITE) {
+                endpoints.add(lease.endpoint);
+            }
+            lastSeen = Instant.now();
+            if (sampleStack == null) {
+                sampleStack = lease.stack;
+            }
+        }
+
+        Map<String, Object> describe() {
+            long holdCount = count.sum();
+            Map<String, Object> description = new LinkedHashMap<>();
+            description.put("callSite", callSite);
+            description.put("count", holdCount);
+            description.put("transactional", transactional.sum());
+            description.put("totalHoldMs", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            description.put("meanHoldMs", holdCount == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos.sum() / holdCount));
+            description.put("maxHoldMs", TimeUnit.NANOSECONDS.toMillis(maxNanos.get()));
+            description.put("endpoints", endpoints);
+            description.put("lastSeen", lastSeen);
+            description.put("sampleStack", sampleStack);
+            return description;
+        }
+    }
+}
@@ -31,10 +31,12 @@ public class CsvImportService {
 
     private final FinanceEntryRepoInterface financeEntryRepository;
     private final UserRepo userRepo;
+    private final LoggingService loggingService;
 
-    public CsvImportService (FinanceEntryRepoInterface financeEntryRepository, UserRepo userRepo) {
+    public CsvImportService (FinanceEntryRepoInterface financeEntryRepository, UserRepo userRepo, LoggingService loggingService) {
         this.financeEntryRepository = financeEntryRepository;
         this.userRepo = userRepo;
+        this.loggingService = loggingService;
     }
 
     private static final int BATCH_SIZE = 1000;
@@ -47,6 +49,7 @@ public class CsvImportService {
     public List<FinanceEntry> importCsvEntries(MultipartFile file, Long userId) throws IOException {
         log.info("Starting CSV import for user ID: {}", userId);
         validateFile(file);
+        loggingService.describeTransaction("CSV import");
 
         User user = userRepo.findById(userId)
                 .orElseThrow(() -> {
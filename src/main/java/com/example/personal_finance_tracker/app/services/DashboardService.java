@@ -0,0 +1,111 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.events.FinanceDataChangedEvent;
+import com.example.personal_finance_tracker.app.exceptions.ResourceNotFoundException;
+import com.example.personal_finance_tracker.app.interfaces.FinanceEntryRepoInterface;
+import com.example.personal_finance_tracker.app.models.dto.DashboardSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user dashboard summary, built from a single grouped query and kept in the {@code userDashboard}
+ * cache until that user's finance entries change.
+ */
+@Slf4j
+@Service
+public class DashboardService {
+
+    private static final String CACHE_NAME = "userDashboard";
+    private static final String INCOME = "income";
+    private static final String EXPENSE = "expense";
+
+    private final FinanceEntryRepoInterface financeEntryRepo;
+    private final DataVersionService dataVersionService;
+    private final Cache cache;
+
+    public DashboardService(FinanceEntryRepoInterface financeEntryRepo, DataVersionService dataVersionService,
+                            CacheManager cacheManager) {
+        this.financeEntryRepo = financeEntryRepo;
+        this.dataVersionService = dataVersionService;
+        this.cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    public DashboardSummary getDashboard(Long userId) {
+        // Read before querying: a write committing during the query leaves the summary tagged stale
+        long version = dataVersionService.userVersion(userId);
+        int year = Year.now().getValue();
+
+        DashboardSummary cached = cache.get(userId, DashboardSummary.class);
+        if (cached != null && cached.getDataVersion() == version && cached.getYear() == year) {
+            log.debug("Dashboard cache hit for user ID: {}", userId);
+            return cached;
+        }
+
+        DashboardSummary summary = buildSummary(userId, year, version);
+        cache.put(userId, summary);
+        return summary;
+    }
+
+    @EventListener
+    public void onFinanceDataChanged(FinanceDataChangedEvent event) {
+        cache.evict(event.userId());
+    }
+
+    private DashboardSummary buildSummary(Long userId, int year, long version) {
+        log.info("Building dashboard summary for user ID: {}", userId);
+        List<Object[]> rows;
+        try {
+            rows = financeEntryRepo.findDashboardAggregates(userId);
+        } catch (DataAccessException e) {
+            log.error("Error building dashboard summary for user ID: {}", userId, e);
+            throw new ResourceNotFoundException("Failed to build dashboard summary");
+        }
+
+        double totalIncome = 0;
+        double totalExpense = 0;
+        long totalTransactions = 0;
+        Map<String, Double> categoryWiseIncome = new HashMap<>();
+        Map<String, Double> categoryWiseExpense = new HashMap<>();
+        Map<String, Double> categoryWiseIncomeForYear = new HashMap<>();
+        Map<String, Double> categoryWiseExpenseForYear = new HashMap<>();
+
+        // One row per type, category and year
+        for (Object[] row : rows) {
+            String type = (String) row[0];
+            String category = (String) row[1];
+            Integer rowYear = (Integer) row[2];
+            double amount = row[3] != null ? ((Number) row[3]).doubleValue() : 0;
+            totalTransactions += ((Number) row[4]).longValue();
+
+            boolean currentYear = rowYear != null && rowYear == year;
+            if (INCOME.equalsIgnoreCase(type)) {
+                totalIncome += amount;
+                categoryWiseIncome.merge(category, amount, Double::sum);
+                if (currentYear) {
+                    categoryWiseIncomeForYear.merge(category, amount, Double::sum);
+                }
+            } else if (EXPENSE.equalsIgnoreCase(type)) {
+                totalExpense += amount;
+                categoryWiseExpense.merge(category, amount, Double::sum);
+                if (currentYear) {
+                    categoryWiseExpenseForYear.merge(category, amount, Double::sum);
+                }
+            }
+        }
+
+        log.info("Dashboard summary for user ID {} covers {} transactions", userId, totalTransactions);
+        return new DashboardSummary(userId, totalIncome, totalExpense, totalIncome - totalExpense, totalTransactions,
+                categoryWiseIncome, categoryWiseExpense, year, categoryWiseIncomeForYear, categoryWiseExpenseForYear,
+                LocalDateTime.now(), version);
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.events.FinanceDataChangedEvent;
+import com.example.personal_finance_tracker.app.models.Category;
+import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Year;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Data versions behind the ETags of the polled read endpoints. Every committed insert, update or delete
+ * of a finance entry bumps its owner's version and the global one; category writes bump the category
+ * version. Versions live in memory, so a matching {@code If-None-Match} is answered without a query.
+ * <p>
+ * Reading {@code MAX(updated_at)} per poll would cost the query this is meant to save and cannot see
+ * deletes, so the versions are driven by the same Hibernate events that maintain BaseEntity's
+ * timestamps, after commit. The instance start time is part of every tag, so a restart never
+ * revalidates a representation served before it. Per-user changes are also published as
+ * {@link FinanceDataChangedEvent}s for caches of derived data.
+ */
+@Service
+@RequiredArgsConstructor
+public class DataVersionService {
+
+    private final EntityManagerFactory emf;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> userVersions = new ConcurrentHashMap<>();
+    private volatile long financeVersion;
+    private volatile long categoryVersion;
+
+    @PostConstruct
+    public void registerListeners() {
+        SessionFactoryImpl sessionFactory = emf.unwrap(SessionFactoryImpl.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        VersionListener listener = new VersionListener();
+        registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(listener);
+        registry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(listener);
+        registry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(listener);
+    }
+
+    public long userVersion(Long userId) {
+        return userVersions.getOrDefault(userId, 0L);
+    }
+
+    /**
+     * Tag for data derived from one user's finance entries.
+     */
+    public String userFinanceEtag(Long userId) {
+        return etag("u" + userId, userVersion(userId));
+    }
+
+    /**
+     * Tag for data derived from one user's entries of the given year, which also changes at the turn of the year.
+     */
+    public String userFinanceEtag(Long userId, Year year) {
+        return etag("u" + userId + "y" + year, userVersion(userId));
+    }
+
+    /**
+     * Tag for data derived from all users' finance entries.
+     */
+    public String financeEtag() {
+        return etag("f", financeVersion);
+    }
+
+    public String categoryEtag() {
+        return etag("c", categoryVersion);
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value matches the given strong tag. Weak tags compare by
+     * their opaque part, as required for {@code If-None-Match}.
+     */
+    public boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String etag(String scope, long version) {
+        return "\"" + scope + "-" + epoch + "-" + version + "\"";
+    }
+
+    private void bump(Object entity) {
+        if (entity instanceof FinanceEntry entry) {
+            long version = sequence.incrementAndGet();
+            financeVersion = version;
+            Long userId = entry.getUserId();
+            if (userId != null) {
+                userVersions.put(userId, version);
+                eventPublisher.publishEvent(new FinanceDataChangedEvent(userId));
+            }
+        } else if (entity instanceof Category) {
+            categoryVersion = sequence.incrementAndGet();
+        }
+    }
+
+    private class VersionListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+            PostCommitDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            bump(event.getEntity());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            bump(event.getEntity());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            bump(event.getEntity());
+        }
+
+        // A failed transaction changed nothing a client could have seen
+        @Override
+        public void onPostInsertCommitFailed(PostInsertEvent event) {
+        }
+
+        @Override
+        public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        }
+
+        @Override
+        public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            Class<?> type = persister.getMappedClass();
+            return type == FinanceEntry.class || type == Category.class;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.config.EmailQueueProperties;
+import com.example.personal_finance_tracker.app.models.EmailStatus;
+import com.example.personal_finance_tracker.app.models.OutboundEmail;
+import com.example.personal_finance_tracker.app.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Delivers the outbound mail queue. {@link #enqueue} only inserts a row, joining the caller's transaction
+ * if there is one, so a slow or unreachable mail server never holds up a request. Callers that are not
+ * transactional themselves, such as signup, commit the row on its own.
+ * <p>
+ * One dispatcher thread claims due messages and hands them to a small pool of sender threads. It only
+ * claims a recipient's oldest live message, so a recipient receives mail in the order it was queued and
+ * has at most one send in flight. A failed send is rescheduled in the table with exponential backoff and
+ * the dispatcher is woken when it falls due; no thread waits out the backoff. After
+ * {@code app.email.queue.max-attempts} the message is dead-lettered and the recipient's later mail proceeds;
+ * dead letters are deleted after {@code app.email.queue.dead-letter-retention}. A send still running after
+ * {@code app.email.queue.sending-timeout} is released and counts as a failed attempt.
+ * The table is polled as well, which picks up messages left by a restart.
+ */
+@Slf4j
+@Service
+public class EmailDispatcher {
+
+    private static final List<EmailStatus> LIVE = List.of(EmailStatus.PENDING, EmailStatus.SENDING);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboundEmailRepository repository;
+    private final JavaMailSender mailSender;
+    private final EmailQueueProperties properties;
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+    private final Timer sendTimer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+
+    @Value("${app.email.enabled:false}")
+    private boolean emailEnabled;
+
+    private ScheduledExecutorService dispatcher;
+    private ThreadPoolExecutor senders;
+
+    public EmailDispatcher(OutboundEmailRepository repository, JavaMailSender mailSender,
+                           EmailQueueProperties properties, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.mailSender = mailSender;
+        this.properties = properties;
+        this.sentCounter = Counter.builder("email.sent").register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.retried").register(meterRegistry);
+        this.deadCounter = Counter.builder("email.dead").register(meterRegistry);
+        this.sendTimer = Timer.builder("email.send").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "email-dispatcher"));
+        AtomicInteger counter = new AtomicInteger();
+        senders = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(), 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> daemon(runnable, "email-sender-" + counter.incrementAndGet()));
+        long interval = properties.getPollInterval().toMillis();
+        dispatcher.scheduleWithFixedDelay(this::dispatch, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("Email dispatcher started with {} senders, polling every {} ms", properties.getWorkers(), interval);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        senders.shutdown();
+        try {
+            if (!senders.awaitTermination(properties.getShutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Email senders did not finish in time; unfinished messages are released after {}",
+                        properties.getSendingTimeout());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Queues a message. The dispatcher is woken once the surrounding transaction commits.
+     */
+    @Transactional
+    public OutboundEmail enqueue(String to, String subject, String htmlContent) {
+        OutboundEmail email = repository.save(new OutboundEmail(to, subject, htmlContent));
+        log.info("Queued email {} to: {}", email.getId(), to);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+        return email;
+    }
+
+    /**
+     * Puts a dead-lettered message back in the queue with a fresh set of attempts.
+     */
+    @Transactional
+    public boolean retryDeadLetter(Long id) {
+        OutboundEmail email = repository.findById(id).filter(e -> e.getStatus() == EmailStatus.DEAD).orElse(null);
+        if (email == null) {
+            return false;
+        }
+        email.setStatus(EmailStatus.PENDING);
+        email.setAttempts(0);
+        email.setNextAttemptAt(LocalDateTime.now());
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                wakeUp();
+            }
+        });
+        return true;
+    }
+
+    public int applyRetention() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = repository.deleteFinishedBefore(List.of(EmailStatus.SENT), now.minus(properties.getRetention()));
+        if (deleted > 0) {
+            log.info("Deleted {} sent emails older than {} days", deleted, properties.getRetention().toDays());
+        }
+        int deadDeleted = repository.deleteFinishedBefore(List.of(EmailStatus.DEAD),
+                now.minus(properties.getDeadLetterRetention()));
+        if (deadDeleted > 0) {
+            log.info("Deleted {} dead letters older than {} days", deadDeleted, properties.getDeadLetterRetention().toDays());
+        }
+        return deleted + deadDeleted;
+    }
+
+    public void wakeUp() {
+        wakeUp(Duration.ZERO);
+    }
+
+    private void wakeUp(Duration delay) {
+        if (delay.isZero()) {
+            // Enqueues in a burst collapse into one dispatch pass
+            if (wakeUpPending.compareAndSet(false, true)) {
+                submitDispatch(0);
+            }
+        } else {
+            submitDispatch(delay.toMillis());
+        }
+    }
+
+    private void submitDispatch(long delayMillis) {
+        try {
+            dispatcher.schedule(this::dispatch, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down; the message stays queued for the next start
+            log.debug("Email dispatcher stopped, not scheduling a dispatch pass");
+        }
+    }
+
+    // Runs on the single dispatcher thread only
+    private void dispatch() {
+        wakeUpPending.set(false);
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int released = repository.releaseStale(EmailStatus.SENDING, EmailStatus.PENDING, EmailStatus.DEAD,
+                    properties.getMaxAttempts(), now.minus(properties.getSendingTimeout()),
+                    "Send did not complete within " + properties.getSendingTimeout(), now);
+            if (released > 0) {
+                log.warn("Released {} emails whose send did not complete within {}", released, properties.getSendingTimeout());
+            }
+            // Claim no more than the senders can start, so the rest stay visible as pending
+            int capacity = properties.getWorkers() - inFlight.get();
+            if (capacity <= 0) {
+                return;
+            }
+            for (Long id : repository.findDueHeads(EmailStatus.PENDING, LIVE, now, PageRequest.of(0, capacity))) {
+                if (repository.claim(id, EmailStatus.PENDING, EmailStatus.SENDING, now) == 1) {
+                    inFlight.incrementAndGet();
+                    senders.execute(() -> deliver(id));
+                }
+            }
+        } catch (RuntimeException e) {
+            // Thrown out of a scheduled task it would cancel the periodic poll
+            log.error("Failed to dispatch queued emails", e);
+        }
+    }
+
+    private void deliver(Long id) {
+        try {
+            OutboundEmail email = repository.findById(id).orElse(null);
+            if (email == null || email.getStatus() != EmailStatus.SENDING) {
+                return;
+            }
+            // As stored, so the conditional finish compares equal values
+            LocalDateTime claimedAt = email.getClaimedAt();
+            try {
+                sendTimer.record(() -> send(email));
+                email.setStatus(EmailStatus.SENT);
+                email.setSentAt(LocalDateTime.now());
+                email.setLastError(null);
+            } catch (SendFailure e) {
+                fail(email, e.getCause());
+            } catch (RuntimeException e) {
+                // MailException, or anything else the mail stack throws; either way the attempt is recorded
+                fail(email, e);
+            }
+            if (repository.finish(id, EmailStatus.SENDING, claimedAt, email.getStatus(), email.getNextAttemptAt(),
+                    email.getSentAt(), email.getLastError(), LocalDateTime.now()) == 0) {
+                log.warn("Email {} was released and claimed again while this send was running; outcome {} discarded",
+                        id, email.getStatus());
+                return;
+            }
+            countOutcome(email);
+            if (email.getStatus() == EmailStatus.SENT) {
+                repository.clearBody(id, EmailStatus.SENT);
+            }
+        } catch (DataAccessException e) {
+            // Left claimed; released for another attempt after the sending timeout
+            log.error("Failed to record delivery of email {}", id, e);
+        } finally {
+            inFlight.decrementAndGet();
+            wakeUp();
+        }
+    }
+
+    private void send(OutboundEmail email) {
+        if (!emailEnabled) {
+            log.info("Email sending is disabled. Would have sent email {} to: {}", email.getId(), email.getRecipient());
+            log.info("Subject: {}", email.getSubject());
+            log.debug("Content: {}", email.getBody());
+            return;
+        }
+        try {
+            log.info("Sending email {} to: {} (attempt {})", email.getId(), email.getRecipient(), email.getAttempts() + 1);
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            helper.setTo(email.getRecipient());
+            helper.setSubject(email.getSubject());
+            helper.setText(email.getBody(), true);
+            mailSender.send(message);
+            log.info("Email {} sent successfully to: {}", email.getId(), email.getRecipient());
+        } catch (MessagingException e) {
+            throw new SendFailure(e);
+        }
+    }
+
+    // Counted once the outcome is recorded, so a discarded stale outcome is not counted twice
+    private void countOutcome(OutboundEmail email) {
+        switch (email.getStatus()) {
+            case SENT -> sentCounter.increment();
+            case DEAD -> deadCounter.increment();
+            case PENDING -> {
+                retriedCounter.increment();
+                wakeUp(Duration.between(LocalDateTime.now(), email.getNextAttemptAt()));
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void fail(OutboundEmail email, Throwable cause) {
+        int attempt = email.getAttempts() + 1;
+        email.setLastError(truncate(cause.getMessage()));
+        if (attempt >= properties.getMaxAttempts()) {
+            email.setStatus(EmailStatus.DEAD);
+            log.error("Failed to send email {} to: {} after {} attempts; moved to dead letters. Reason: {}",
+                    email.getId(), email.getRecipient(), attempt, cause.getMessage());
+            return;
+        }
+        Duration backoff = backoff(attempt);
+        email.setStatus(EmailStatus.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now().plus(backoff));
+        log.warn("Failed to send email {} to: {} (attempt {}), retrying in {} ms. Reason: {}",
+                email.getId(), email.getRecipient(), attempt, backoff.toMillis(), cause.getMessage());
+    }
+
+    private Duration backoff(int attempt) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempt - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return "Unknown error";
+        }
+        return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static final class SendFailure extends RuntimeException {
+        SendFailure(MessagingException cause) {
+            super(cause);
+        }
+    }
+}
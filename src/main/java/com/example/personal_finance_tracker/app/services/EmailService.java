@@ -1,21 +1,20 @@
 package com.example.personal_finance_tracker.app.services;
 
 import com.example.personal_finance_tracker.app.exceptions.RateLimitExceededException;
+import com.example.personal_finance_tracker.app.models.EmailStatus;
+import com.example.personal_finance_tracker.app.models.dto.OutboundEmailSummary;
+import com.example.personal_finance_tracker.app.repository.OutboundEmailRepository;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -23,26 +22,21 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailDispatcher emailDispatcher;
+    private final OutboundEmailRepository outboundEmailRepository;
     private final Cache<String, Integer> emailRateLimitCache;
     
-    @Value("${app.email.enabled:false}")
-    private boolean emailEnabled;
-    
     // Rate limit configuration
     private static final int MAX_EMAILS_PER_USER = 5;
     private static final int RATE_LIMIT_WINDOW_HOURS = 24;
     
-    // Email stats tracking
-    private final AtomicInteger totalEmailsSent = new AtomicInteger(0);
+    // Blocked emails never reach the queue, so they are counted here
     private final AtomicInteger totalEmailsBlocked = new AtomicInteger(0);
-    private final Map<String, Integer> emailsPerRecipient = new ConcurrentHashMap<>();
-    private final List<Map<String, Object>> emailLogs = Collections.synchronizedList(new ArrayList<>());
-    private static final int MAX_LOG_SIZE = 100;
 
     @Autowired
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(EmailDispatcher emailDispatcher, OutboundEmailRepository outboundEmailRepository) {
+        this.emailDispatcher = emailDispatcher;
+        this.outboundEmailRepository = outboundEmailRepository;
         
         // Initialize rate limiting cache
         this.emailRateLimitCache = Caffeine.newBuilder()
@@ -51,10 +45,10 @@ public class EmailService {
     }
 
     /**
-     * Sends an email with rate limiting
+     * Queues an email with rate limiting. Delivery and retries happen on the {@link EmailDispatcher}
+     * threads; the message is only sent if the caller's transaction commits.
      */
-    public void sendEmail(String to, String subject, String htmlContent) 
-            throws MessagingException, RateLimitExceededException {
+    public void sendEmail(String to, String subject, String htmlContent) throws RateLimitExceededException {
         
         // Check rate limit
         if (!checkAndUpdateRateLimit(to)) {
@@ -63,103 +57,10 @@ public class EmailService {
             // Track blocked email
             totalEmailsBlocked.incrementAndGet();
             
-            // Log the blocked attempt
-            addEmailLog(to, subject, "BLOCKED", "Rate limit exceeded");
-            
             throw new RateLimitExceededException("Email rate limit exceeded. Please try again later.");
         }
         
-        if (!emailEnabled) {
-            // Email sending is disabled, just log the content
-            log.info("Email sending is disabled. Would have sent email to: {}", to);
-            log.info("Subject: {}", subject);
-            log.debug("Content: {}", htmlContent);
-            
-            // Track the email as if it was sent (for testing purposes)
-            totalEmailsSent.incrementAndGet();
-            
-            // Add to recipient counter
-            emailsPerRecipient.merge(to, 1, Integer::sum);
-            
-            // Log the mock send
-            addEmailLog(to, subject, "MOCK_SENT", "Email sending disabled");
-            
-            return;
-        }
-        
-        int maxRetries = 3;
-        int retryCount = 0;
-        MessagingException lastException = null;
-        
-        while (retryCount < maxRetries) {
-            try {
-                log.info("Sending email to: {} (attempt {})", to, retryCount + 1);
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-                
-                helper.setTo(to);
-                helper.setSubject(subject);
-                helper.setText(htmlContent, true);
-                
-                mailSender.send(message);
-                log.info("Email sent successfully to: {}", to);
-                
-                // Track successful email
-                totalEmailsSent.incrementAndGet();
-                
-                // Add to recipient counter
-                emailsPerRecipient.merge(to, 1, Integer::sum);
-                
-                // Log the successful send
-                addEmailLog(to, subject, "SENT", "Success");
-                
-                return; // Success, exit method
-            } catch (MessagingException e) {
-                lastException = e;
-                log.warn("Failed to send email to: {} (attempt {}). Reason: {}", 
-                        to, retryCount + 1, e.getMessage());
-                retryCount++;
-                
-                if (retryCount < maxRetries) {
-                    try {
-                        // Wait before retrying (exponential backoff)
-                        Thread.sleep(1000 * retryCount);
-                    } catch (InterruptedException ie) {
-                        Thread.currentThread().interrupt();
-                        break;
-                    }
-                }
-            }
-        }
-        
-        // If we get here, all retries failed
-        log.error("Failed to send email to: {} after {} attempts", to, maxRetries);
-        
-        // Log the failed send
-        addEmailLog(to, subject, "FAILED", lastException != null ? lastException.getMessage() : "Unknown error");
-        
-        if (lastException != null) {
-            throw lastException;
-        }
-    }
-    
-    /**
-     * Adds an entry to the email log with timestamp
-     */
-    private void addEmailLog(String to, String subject, String status, String message) {
-        Map<String, Object> logEntry = new HashMap<>();
-        logEntry.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
-        logEntry.put("recipient", to);
-        logEntry.put("subject", subject);
-        logEntry.put("status", status);
-        logEntry.put("message", message);
-        
-        emailLogs.add(0, logEntry); // Add to beginning to get reverse chronological order
-        
-        // Maintain max size
-        while (emailLogs.size() > MAX_LOG_SIZE) {
-            emailLogs.remove(emailLogs.size() - 1);
-        }
+        emailDispatcher.enqueue(to, subject, htmlContent);
     }
     
     /**
@@ -183,7 +84,7 @@ public class EmailService {
      * Sends 2FA setup instructions to a user
      */
     public void send2FASetupEmail(String to, String username, String secret, String qrCodeBase64) 
-            throws MessagingException, RateLimitExceededException {
+            throws RateLimitExceededException {
         
         String subject = "Your Two-Factor Authentication Setup";
         String content = """
@@ -221,12 +122,20 @@ public class EmailService {
     }
     
     /**
-     * Get email rate limit statistics
+     * Get email queue and rate limit statistics
      */
+    @Transactional(readOnly = true)
     public Map<String, Object> getEmailStats() {
         Map<String, Object> stats = new HashMap<>();
         
-        stats.put("totalEmailsSent", totalEmailsSent.get());
+        Map<EmailStatus, Long> byStatus = new EnumMap<>(EmailStatus.class);
+        for (Object[] row : outboundEmailRepository.countByStatus()) {
+            byStatus.put((EmailStatus) row[0], (Long) row[1]);
+        }
+        stats.put("totalEmailsSent", byStatus.getOrDefault(EmailStatus.SENT, 0L));
+        stats.put("totalEmailsPending", byStatus.getOrDefault(EmailStatus.PENDING, 0L)
+                + byStatus.getOrDefault(EmailStatus.SENDING, 0L));
+        stats.put("totalEmailsDeadLettered", byStatus.getOrDefault(EmailStatus.DEAD, 0L));
         stats.put("totalEmailsBlocked", totalEmailsBlocked.get());
         stats.put("rateLimitPerUser", MAX_EMAILS_PER_USER);
         stats.put("rateLimitWindowHours", RATE_LIMIT_WINDOW_HOURS);
@@ -243,27 +152,53 @@ public class EmailService {
         stats.put("userRateLimits", userRateLimits);
         
         // Top email recipients
-        Map<String, Integer> topRecipients = new HashMap<>();
-        emailsPerRecipient.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .limit(10)
-                .forEach(entry -> topRecipients.put(entry.getKey(), entry.getValue()));
+        Map<String, Long> topRecipients = new LinkedHashMap<>();
+        for (Object[] row : outboundEmailRepository.countByRecipient(EmailStatus.SENT, PageRequest.of(0, 10))) {
+            topRecipients.put((String) row[0], (Long) row[1]);
+        }
         stats.put("topRecipients", topRecipients);
         
-        // Recent email logs
-        stats.put("recentEmails", emailLogs);
+        // Recent email logs, newest first
+        List<Map<String, Object>> recentEmails = new ArrayList<>();
+        for (OutboundEmailSummary email : outboundEmailRepository.findTop100ByOrderByIdDesc()) {
+            Map<String, Object> logEntry = new HashMap<>();
+            logEntry.put("id", email.id());
+            logEntry.put("timestamp", email.updatedAt() != null
+                    ? email.updatedAt().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+            logEntry.put("recipient", email.recipient());
+            logEntry.put("subject", email.subject());
+            logEntry.put("status", email.status().name());
+            logEntry.put("attempts", email.attempts());
+            logEntry.put("message", statusMessage(email));
+            recentEmails.add(logEntry);
+        }
+        stats.put("recentEmails", recentEmails);
         
         return stats;
     }
     
     /**
-     * Reset email statistics (for testing)
+     * Puts a dead-lettered email back in the queue
+     */
+    public boolean retryDeadLetter(Long id) {
+        return emailDispatcher.retryDeadLetter(id);
+    }
+    
+    /**
+     * Reset email statistics (for testing); messages still queued are kept
      */
     public void resetEmailStats() {
-        totalEmailsSent.set(0);
         totalEmailsBlocked.set(0);
-        emailsPerRecipient.clear();
-        emailLogs.clear();
+        outboundEmailRepository.deleteFinishedBefore(List.of(EmailStatus.SENT, EmailStatus.DEAD), LocalDateTime.now());
         emailRateLimitCache.invalidateAll();
     }
-} 
\ No newline at end of file
+
+    private static String statusMessage(OutboundEmailSummary email) {
+        return switch (email.status()) {
+            case SENT -> "Success";
+            case DEAD -> email.lastError();
+            case SENDING -> "Sending";
+            case PENDING -> email.lastError() != null ? "Retrying after: " + email.lastError() : "Queued";
+        };
+    }
+}
@@ -2,17 +2,26 @@ package com.example.personal_finance_tracker.app.services;
 
 import com.example.personal_finance_tracker.app.exceptions.ResourceNotFoundException;
 import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import com.example.personal_finance_tracker.app.models.dto.FinanceEntryRow;
 import com.example.personal_finance_tracker.app.interfaces.FinanceEntryRepoInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+/**
+ * Read methods run in read-only transactions: Spring switches the Hibernate session to
+ * {@code FlushMode.MANUAL} and loads entities read-only, so no dirty-checking snapshots are kept,
+ * and multi-query reads share one connection checkout.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -58,6 +67,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<FinanceEntry> findAll() {
         log.info("Retrieving all finance entries");
         try {
@@ -68,6 +78,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<FinanceEntry> findByType(String type) {
         log.info("Finding finance entries by type: {}", type);
         try {
@@ -78,6 +89,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<FinanceEntry> findByUserId(Long userId) {
         log.info("Finding finance entries for user ID: {}", userId);
         try {
@@ -88,6 +100,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public List<FinanceEntry> findByTypeAndUserId(String type, Long userId) {
         log.info("Finding {} entries for user ID: {}", type, userId);
         try {
@@ -98,6 +111,22 @@ public class FinanceEntryService {
         }
     }
 
+    /**
+     * Streams entries to {@code action} without materializing them; {@code userId} and {@code type}
+     * are optional filters. Read-only so long exports hold a read pool connection, not a write one.
+     */
+    @Transactional(readOnly = true)
+    public long streamEntries(Long userId, String type, Consumer<FinanceEntryRow> action) {
+        log.info("Streaming finance entries for user ID: {}, type: {}", userId, type);
+        try {
+            return financeEntryRepo.streamRows(userId, type, action);
+        } catch (DataAccessException e) {
+            log.error("Error streaming finance entries for user ID: {}", userId, e);
+            throw new ResourceNotFoundException("Failed to stream finance entries");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Map<String, Double> getCategoryWiseSpending(Long userId) {
         log.info("Calculating category-wise spending for user ID: {}", userId);
         try {
@@ -117,6 +146,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Double> getCategoryWiseIncome(Long userId) {
         log.info("Calculating category-wise income for user ID: {}", userId);
         try {
@@ -136,6 +166,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public double getTotalIncomeForAllUsers() {
         log.info("Calculating total income for all users");
         try {
@@ -146,6 +177,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public double getTotalExpenseForAllUsers() {
         log.info("Calculating total expense for all users");
         try {
@@ -156,6 +188,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public double getTotalIncomeForUser(Long userId) {
         log.info("Calculating total income for user ID: {}", userId);
         try {
@@ -166,6 +199,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public double getTotalExpenseForUser(Long userId) {
         log.info("Calculating total expense for user ID: {}", userId);
         try {
@@ -176,6 +210,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Double> getMonthlyIncomeForAllUsers() {
         log.info("Aggregating monthly income for all users");
         try {
@@ -186,6 +221,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Double> getMonthlyExpenseForAllUsers() {
         log.info("Aggregating monthly expense for all users");
         try {
@@ -196,6 +232,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Double> getCategoryWiseExpenseForCurrentYear(Long userId) {
         log.info("Calculating category-wise annual expenses for user ID: {}", userId);
         try {
@@ -206,6 +243,7 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public Map<String, Double> getCategoryWiseIncomeForCurrentYear(Long userId) {
         log.info("Calculating category-wise annual income for user ID: {}", userId);
         try {
@@ -216,10 +254,16 @@ public class FinanceEntryService {
         }
     }
 
+    @Transactional(readOnly = true)
     public int getTransactionsCount(Long userId) {
+        return Math.toIntExact(countTransactions(userId, null, null, null, null));
+    }
+
+    @Transactional(readOnly = true)
+    public long countTransactions(Long userId, String type, String category, LocalDate startDate, LocalDate endDate) {
         log.info("Getting transaction count for user ID: {}", userId);
         try {
-            return financeEntryRepo.findAllByUser_Id(userId).size();
+            return financeEntryRepo.countByUser(userId, type, category, startDate, endDate);
         } catch (DataAccessException e) {
             log.error("Error getting transaction count for user ID: {}", userId, e);
             throw new ResourceNotFoundException("Failed to get transaction count");
@@ -1,10 +1,12 @@
 package com.example.personal_finance_tracker.app.services;
 
 import com.example.personal_finance_tracker.app.exceptions.ResourceNotFoundException;
+import com.example.personal_finance_tracker.app.utils.QrPngEncoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
-import com.google.zxing.client.j2se.MatrixToImageWriter;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 import com.warrenstrange.googleauth.GoogleAuthenticator;
@@ -12,12 +14,11 @@ import com.warrenstrange.googleauth.GoogleAuthenticatorConfig;
 import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
 import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.EnumMap;
 import java.util.HashMap;
@@ -28,6 +29,17 @@ import java.util.Map;
 public class GAService {
     private static final String ISSUER = "Personal Finance";
 
+    // Keyed by (secret, username) and kept out of the shared CacheManager so secrets never reach cache logs
+    private final Cache<QrKey, String> qrCodes;
+
+    public GAService(@Value("${app.2fa.qr-cache-ttl:10m}") Duration qrCacheTtl,
+                     @Value("${app.2fa.qr-cache-size:1000}") long qrCacheSize) {
+        this.qrCodes = Caffeine.newBuilder()
+                .maximumSize(qrCacheSize)
+                .expireAfterWrite(qrCacheTtl)
+                .build();
+    }
+
     public String generateKey() {
         log.info("Generating new TOTP secret key");
         try {
@@ -58,11 +70,13 @@ public class GAService {
     public String generateQRUrl(String secret, String username) {
         log.info("Generating QR URL for username: {}", username);
         try {
-            String url = GoogleAuthenticatorQRGenerator.getOtpAuthTotpURL(
-                    ISSUER,
-                    username,
-                    new GoogleAuthenticatorKey.Builder(secret).build());
-            return generateQRCodeFromUrl(url, username);
+            return qrCodes.get(new QrKey(secret, username), key -> {
+                String url = GoogleAuthenticatorQRGenerator.getOtpAuthTotpURL(
+                        ISSUER,
+                        username,
+                        new GoogleAuthenticatorKey.Builder(secret).build());
+                return generateQRCodeFromUrl(url, username);
+            });
         } catch (Exception e) {
             log.error("Error generating QR URL for username: {}", username, e);
             throw new ResourceNotFoundException("Failed to generate QR URL");
@@ -87,11 +101,7 @@ public class GAService {
             hintMap.put(EncodeHintType.CHARACTER_SET, "UTF-8");
 
             BitMatrix bitMatrix = qrCodeWriter.encode(qrCodeText, BarcodeFormat.QR_CODE, 200, 200, hintMap);
-            BufferedImage bufferedImage = MatrixToImageWriter.toBufferedImage(bitMatrix);
-
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            ImageIO.write(bufferedImage, "png", baos);
-            byte[] imageBytes = baos.toByteArray();
+            byte[] imageBytes = QrPngEncoder.toPng(bitMatrix);
             log.info("QR code image generated successfully");
             return Base64.getEncoder().encodeToString(imageBytes);
         } catch (WriterException e) {
@@ -105,4 +115,7 @@ public class GAService {
             throw new ResourceNotFoundException("Unexpected error in QR generation");
         }
     }
+
+    private record QrKey(String secret, String username) {
+    }
 }
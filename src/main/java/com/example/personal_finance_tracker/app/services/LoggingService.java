@@ -1,45 +1,162 @@
 package com.example.personal_finance_tracker.app.services;
 
-import com.example.personal_finance_tracker.app.models.DatabaseEventLog;
-import com.example.personal_finance_tracker.app.repository.DatabaseEventLogRepository;
+import com.example.personal_finance_tracker.app.config.AuditProperties;
+import com.example.personal_finance_tracker.app.models.dto.AuditEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.dao.DataAccessException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.time.LocalDate;
-import java.time.LocalTime;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Entry point for entity audit events. Inside a transaction, events are collected per transaction and
+ * only handed to {@link AuditLogWriter} after it commits, so a rollback records nothing. Per transaction,
+ * more than {@code app.audit.coalesce-threshold} events of the same entity and method are recorded as
+ * one summary row, e.g. "CSV import: 50000 FinanceEntry CREATE".
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class LoggingService {
 
-    private final DatabaseEventLogRepository logRepository;
+    private static final Object TRANSACTION_EVENTS_KEY = TransactionEvents.class;
+    private static final String SUMMARY_ENTITY_ID = "*";
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void logDatabaseEvent(String user, String method, String entityName, String entityId, String description) {
+    private final AuditLogWriter auditLogWriter;
+    private final AuditProperties auditProperties;
+
+    // Called from Hibernate listeners inside the caller's flush: only stamps and collects the event.
+    // The user is resolved once per transaction rather than per event.
+    public void logDatabaseEvent(String method, String entityName, String entityId, String description, String changes) {
         try {
-            DatabaseEventLog eventLog = DatabaseEventLog.builder()
-                    .date(LocalDate.now())
-                    .time(LocalTime.now())
-                    .username(user)
-                    .method(method)
-                    .entityName(entityName)
-                    .entityId(entityId)
-                    .description(description)
-                    .build();
-
-            logRepository.save(eventLog);
-        } catch (DataAccessException e) {
-            // We don't want to throw an exception here as it might disrupt the main operation
-            // Just log the error and continue
-            log.error("Failed to log database event: user={}, method={}, entity={}, id={}", 
-                    user, method, entityName, entityId, e);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionEvents events = currentTransactionEvents();
+                events.add(new AuditEvent(LocalDateTime.now(), events.username, method, entityName, entityId,
+                        description, changes));
+            } else {
+                auditLogWriter.submit(new AuditEvent(LocalDateTime.now(), getCurrentUsername(), method, entityName,
+                        entityId, description, changes));
+            }
         } catch (Exception e) {
-            log.error("Unexpected error while logging database event", e);
+            // We don't want to throw an exception here as it might disrupt the main operation
+            log.error("Unexpected error while queueing database event: method={}, entity={}, id={}",
+                    method, entityName, entityId, e);
+        }
+    }
+
+    /**
+     * Names the bulk operation of the current transaction, used as the prefix of its summary rows.
+     */
+    public void describeTransaction(String operation) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            currentTransactionEvents().operation = operation;
+        }
+    }
+
+    private TransactionEvents currentTransactionEvents() {
+        TransactionEvents events = (TransactionEvents) TransactionSynchronizationManager.getResource(TRANSACTION_EVENTS_KEY);
+        if (events == null) {
+            events = new TransactionEvents();
+            TransactionSynchronizationManager.bindResource(TRANSACTION_EVENTS_KEY, events);
+            TransactionSynchronizationManager.registerSynchronization(events);
+        }
+        return events;
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "system";
+    }
+
+    private class TransactionEvents implements TransactionSynchronization {
+
+        // Keyed by entity and method, in order of first occurrence
+        private final Map<String, EventGroup> groups = new LinkedHashMap<>();
+        private final String username = getCurrentUsername();
+        private String operation;
+
+        void add(AuditEvent event) {
+            groups.computeIfAbsent(event.entityName() + ' ' + event.method(), key -> new EventGroup(event))
+                    .add(event, auditProperties.getCoalesceThreshold());
+        }
+
+        // Bound per transaction, so a REQUIRES_NEW inner transaction collects its own events
+        @Override
+        public void suspend() {
+            TransactionSynchronizationManager.unbindResource(TRANSACTION_EVENTS_KEY);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(TRANSACTION_EVENTS_KEY, this);
+        }
+
+        // Submitted as one group, so the committing thread waits at most one block-timeout for buffer space
+        @Override
+        public void afterCommit() {
+            try {
+                List<AuditEvent> committed = new ArrayList<>();
+                for (EventGroup group : groups.values()) {
+                    if (group.events != null) {
+                        committed.addAll(group.events);
+                    } else {
+                        committed.add(group.summary(operation));
+                    }
+                }
+                auditLogWriter.submitAll(committed);
+            } catch (Exception e) {
+                // The business transaction has already committed; never fail it from here
+                log.error("Unexpected error while publishing committed audit events", e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_EVENTS_KEY);
+            if (status != STATUS_COMMITTED && !groups.isEmpty()) {
+                log.debug("Discarded audit events of a rolled back transaction: {}", groups.keySet());
+            }
+        }
+    }
+
+    private static class EventGroup {
+
+        private final AuditEvent first;
+        private List<AuditEvent> events = new ArrayList<>();
+        private int count;
+
+        EventGroup(AuditEvent first) {
+            this.first = first;
+        }
+
+        void add(AuditEvent event, int coalesceThreshold) {
+            count++;
+            if (events != null) {
+                if (count > coalesceThreshold) {
+                    // Only the count is kept from here on
+                    events = null;
+                } else {
+                    events.add(event);
+                }
+            }
+        }
+
+        AuditEvent summary(String operation) {
+            String description = (operation != null ? operation : "Bulk operation") + ": "
+                    + count + " " + first.entityName() + " " + first.method();
+            return new AuditEvent(first.occurredAt(), first.username(), first.method(), first.entityName(),
+                    SUMMARY_ENTITY_ID, description, null);
         }
     }
 }
@@ -2,23 +2,44 @@ package com.example.personal_finance_tracker.app.services;
 
 import com.example.personal_finance_tracker.app.models.MenuItem;
 import com.example.personal_finance_tracker.app.repository.MenuItemRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
 
+import java.io.UncheckedIOException;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Menu items are read on every page load but change only through the admin endpoints, so reads are
+ * served from an immutable snapshot that is replaced whenever this service writes. Within a snapshot
+ * the menu for each role combination (as a bitmask over the roles in use) is filtered and serialized
+ * once, together with its ETag.
+ */
+@Slf4j
 @Service
 public class MenuItemService {
 
     private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+
+    private volatile MenuSnapshot snapshot;
 
     private static final String ROLE_USER = "ROLE_USER";
     private static final String ROLE_ADMIN = "ROLE_ADMIN";
     private static final String ROLE_ACCOUNTANT = "ROLE_ACCOUNTANT";
 
-    public MenuItemService(MenuItemRepository menuItemRepository) {
+    public MenuItemService(MenuItemRepository menuItemRepository, ObjectMapper objectMapper) {
         this.menuItemRepository = menuItemRepository;
+        this.objectMapper = objectMapper;
     }
 
     public List<MenuItem> getAllMenuItems() {
@@ -26,27 +47,98 @@ public class MenuItemService {
     }
 
     public List<MenuItem> getActiveMenuItems() {
-        return menuItemRepository.findAllByIsActiveTrueOrderByDisplayOrderAsc();
+        return currentSnapshot().items();
     }
 
-    public List<MenuItem> getMenuItemsForRoles(List<String> roles) {
-        List<MenuItem> allMenuItems = getActiveMenuItems();
-        return allMenuItems.stream()
-                .filter(menuItem -> menuItem.getAllowedRoles().stream()
-                        .anyMatch(roles::contains))
-                .toList();
+    public List<MenuItem> getMenuItemsForRoles(Collection<String> roles) {
+        return getMenuForRoles(roles).items();
+    }
+
+    /**
+     * The menu visible to the given roles, with its JSON body and ETag computed once per snapshot.
+     */
+    public RoleMenu getMenuForRoles(Collection<String> roles) {
+        MenuSnapshot current = currentSnapshot();
+        return current.menus().computeIfAbsent(current.maskOf(roles), mask -> buildRoleMenu(current, mask));
     }
 
     public MenuItem saveMenuItem(MenuItem menuItem) {
-        return menuItemRepository.save(menuItem);
+        MenuItem saved = menuItemRepository.save(menuItem);
+        refreshSnapshot();
+        return saved;
     }
 
     public List<MenuItem> saveAllMenuItems(List<MenuItem> menuItems) {
-        return menuItemRepository.saveAll(menuItems);
+        List<MenuItem> saved = menuItemRepository.saveAll(menuItems);
+        refreshSnapshot();
+        return saved;
     }
 
     public void deleteMenuItem(Long id) {
         menuItemRepository.deleteById(id);
+        refreshSnapshot();
+    }
+
+    /**
+     * Reloads the active menu items and swaps in a new snapshot. Synchronized so that two concurrent
+     * admin writes cannot leave the older of their two reloads installed.
+     */
+    public synchronized void refreshSnapshot() {
+        List<MenuItem> items = List.copyOf(menuItemRepository.findAllByIsActiveTrueOrderByDisplayOrderAsc());
+        snapshot = MenuSnapshot.of(items);
+        log.debug("Menu snapshot rebuilt: {} active items, {} roles", items.size(), snapshot.roleBits().size());
+    }
+
+    private MenuSnapshot currentSnapshot() {
+        MenuSnapshot current = snapshot;
+        if (current == null) {
+            refreshSnapshot();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private RoleMenu buildRoleMenu(MenuSnapshot current, long mask) {
+        List<MenuItem> visible = current.items().stream()
+                .filter(menuItem -> (current.maskOf(menuItem.getAllowedRoles()) & mask) != 0)
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(visible);
+            return new RoleMenu(visible, json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public record RoleMenu(List<MenuItem> items, byte[] json, String etag) {
+    }
+
+    /**
+     * Active items plus the bit assigned to each role they mention. Roles a menu item does not mention
+     * cannot change what a user sees, so they get no bit and are ignored when building the mask.
+     */
+    private record MenuSnapshot(List<MenuItem> items, Map<String, Long> roleBits, Map<Long, RoleMenu> menus) {
+
+        static MenuSnapshot of(List<MenuItem> items) {
+            TreeSet<String> roles = new TreeSet<>();
+            items.forEach(item -> roles.addAll(item.getAllowedRoles()));
+            if (roles.size() > Long.SIZE) {
+                throw new IllegalStateException("Menu items reference more than " + Long.SIZE + " distinct roles");
+            }
+            Map<String, Long> bits = new HashMap<>();
+            for (String role : roles) {
+                bits.put(role, 1L << bits.size());
+            }
+            return new MenuSnapshot(items, Map.copyOf(bits), new ConcurrentHashMap<>());
+        }
+
+        long maskOf(Collection<String> roles) {
+            long mask = 0;
+            for (String role : roles) {
+                mask |= roleBits.getOrDefault(role, 0L);
+            }
+            return mask;
+        }
     }
 
     @PostConstruct
@@ -73,5 +165,6 @@ public class MenuItemService {
             );
             menuItemRepository.saveAll(defaultMenuItems);
         }
+        refreshSnapshot();
     }
 }
\ No newline at end of file
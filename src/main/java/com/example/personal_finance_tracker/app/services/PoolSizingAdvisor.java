@@ -0,0 +1,239 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.config.PoolAdvisorProperties;
+import com.example.personal_finance_tracker.app.config.PoolMetricsTrackerFactory;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recommends a connection pool size from what the pool actually does. Every sample records Hikari's
+ * active, idle and pending counts together with the request rate and the connection time consumed
+ * since the previous sample (busy connections, by Little's law). Over the sliding window the advisor
+ * takes the larger of the observed demand (p95 of active + pending) and the demand projected at the
+ * peak request rate, adds headroom and clamps it to the configured bounds.
+ * <p>
+ * Each Hikari pool (the write pool and the read pool) keeps its own window and gets its own
+ * recommendation. The request rate is application-wide, so a pool's connection-seconds per request is
+ * its share of the work averaged over all requests.
+ * <p>
+ * With {@code app.pool.advisor.apply} the recommendation is applied through {@code HikariConfigMXBean},
+ * at most once per cooldown. Otherwise it is only reported.
+ */
+@Slf4j
+@Service
+public class PoolSizingAdvisor {
+
+    private static final String REQUESTS_METER = "http.server.requests";
+    private static final String USAGE_METER = "hikaricp.connections.usage";
+
+    private final PoolAdvisorProperties properties;
+    private final List<HikariDataSource> pools;
+    private final MeterRegistry meterRegistry;
+    private final PoolMetricsTrackerFactory poolMetrics;
+
+    // Keyed by pool name
+    private final Map<String, PoolWindow> windows = new LinkedHashMap<>();
+    private long lastSampleNanos;
+    private long lastRequestCount = -1;
+
+    public PoolSizingAdvisor(PoolAdvisorProperties properties, List<HikariDataSource> pools, MeterRegistry meterRegistry,
+                             PoolMetricsTrackerFactory poolMetrics) {
+        this.properties = properties;
+        this.pools = pools;
+        this.meterRegistry = meterRegistry;
+        this.poolMetrics = poolMetrics;
+    }
+
+    @Scheduled(fixedRateString = "${app.pool.advisor.sample-interval-ms:1000}")
+    public synchronized void sample() {
+        long now = System.nanoTime();
+        long requestCount = requestCount();
+        double seconds = (now - lastSampleNanos) / 1e9;
+        double requestsPerSecond = lastRequestCount >= 0 ? (requestCount - lastRequestCount) / seconds : 0;
+        for (HikariDataSource hikari : pools) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                continue;
+            }
+            PoolWindow window = windows.computeIfAbsent(hikari.getPoolName(), name -> new PoolWindow());
+            double usageMillis = usageMillis(hikari.getPoolName());
+            if (lastRequestCount >= 0 && window.lastUsageMillis >= 0) {
+                window.samples.addLast(new Sample(
+                        pool.getActiveConnections(),
+                        pool.getIdleConnections(),
+                        pool.getThreadsAwaitingConnection(),
+                        requestsPerSecond,
+                        (usageMillis - window.lastUsageMillis) / 1000.0 / seconds));
+                while (window.samples.size() > properties.getWindowSamples()) {
+                    window.samples.pollFirst();
+                }
+            }
+            window.lastUsageMillis = usageMillis;
+        }
+        lastSampleNanos = now;
+        lastRequestCount = requestCount;
+    }
+
+    @Scheduled(fixedRateString = "${app.pool.advisor.apply-interval-ms:60000}")
+    public synchronized void applyRecommendation() {
+        if (!properties.isApply()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (HikariDataSource hikari : pools) {
+            PoolWindow window = windows.get(hikari.getPoolName());
+            if (window == null) {
+                continue;
+            }
+            Recommendation recommendation = recommend(hikari, window);
+            if (recommendation.size() == recommendation.currentSize()) {
+                continue;
+            }
+            if (window.lastAppliedNanos != 0 && now - window.lastAppliedNanos < properties.getApplyCooldown().toNanos()) {
+                continue;
+            }
+            hikari.getHikariConfigMXBean().setMaximumPoolSize(recommendation.size());
+            window.lastAppliedNanos = now;
+            window.lastApplied = recommendation.currentSize() + " -> " + recommendation.size();
+            log.info("Resized connection pool {} from {} to {}: {}", hikari.getPoolName(),
+                    recommendation.currentSize(), recommendation.size(), recommendation.reason());
+        }
+    }
+
+    public synchronized Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("applyEnabled", properties.isApply());
+        report.put("bounds", List.of(properties.getMinSize(), properties.getMaxSize()));
+        Map<String, Object> poolReports = new LinkedHashMap<>();
+        for (HikariDataSource hikari : pools) {
+            PoolWindow window = windows.getOrDefault(hikari.getPoolName(), new PoolWindow());
+            Recommendation recommendation = recommend(hikari, window);
+            Map<String, Object> poolReport = new LinkedHashMap<>();
+            poolReport.put("currentMaximumPoolSize", recommendation.currentSize());
+            poolReport.put("recommendedMaximumPoolSize", recommendation.size());
+            poolReport.put("reason", recommendation.reason());
+            poolReport.put("lastApplied", window.lastApplied);
+            poolReport.put("evidence", recommendation.evidence());
+            poolReports.put(hikari.getPoolName(), poolReport);
+        }
+        report.put("pools", poolReports);
+        return report;
+    }
+
+    private Recommendation recommend(HikariDataSource hikari, PoolWindow poolWindow) {
+        int current = hikari.getHikariConfigMXBean().getMaximumPoolSize();
+        Map<String, Object> evidence = new LinkedHashMap<>();
+        List<Sample> window = new ArrayList<>(poolWindow.samples);
+        List<Sample> busy = window.stream().filter(s -> s.requestsPerSecond() > 0 || s.busyConnections() > 0).toList();
+        evidence.put("windowSamples", window.size());
+        evidence.put("samplesWithTraffic", busy.size());
+        if (busy.size() < properties.getMinSamples()) {
+            return new Recommendation(current, current, "Not enough samples with traffic yet", evidence);
+        }
+
+        double[] demand = busy.stream().mapToDouble(s -> s.active() + s.pending()).toArray();
+        double[] busyConnections = busy.stream().mapToDouble(Sample::busyConnections).toArray();
+        double[] throughput = busy.stream().mapToDouble(Sample::requestsPerSecond).toArray();
+        double totalRequests = Arrays.stream(throughput).sum();
+        // Connection-seconds each request holds on average
+        double connectionSecondsPerRequest = totalRequests > 0 ? Arrays.stream(busyConnections).sum() / totalRequests : 0;
+        double peakThroughput = percentile(throughput, 99);
+        double projectedDemand = peakThroughput * connectionSecondsPerRequest;
+        double observedDemand = percentile(demand, 95);
+        double pendingRatio = busy.stream().filter(s -> s.pending() > 0).count() / (double) busy.size();
+        PoolMetricsTrackerFactory.PoolMetrics metrics = poolMetrics.getPool(hikari.getPoolName());
+        long acquireP99Micros = metrics != null ? metrics.acquirePercentileMicros(99) : 0;
+        boolean waiting = pendingRatio > 0.05
+                && acquireP99Micros > TimeUnit.NANOSECONDS.toMicros(properties.getTargetAcquire().toNanos());
+
+        evidence.put("activeP50", percentile(busy.stream().mapToDouble(Sample::active).toArray(), 50));
+        evidence.put("activeP95", percentile(busy.stream().mapToDouble(Sample::active).toArray(), 95));
+        evidence.put("idleP50", percentile(busy.stream().mapToDouble(Sample::idle).toArray(), 50));
+        evidence.put("pendingP95", percentile(busy.stream().mapToDouble(Sample::pending).toArray(), 95));
+        evidence.put("pendingSampleRatio", pendingRatio);
+        evidence.put("acquireP99Micros", acquireP99Micros);
+        evidence.put("busyConnectionsMean", Arrays.stream(busyConnections).average().orElse(0));
+        evidence.put("busyConnectionsP95", percentile(busyConnections, 95));
+        evidence.put("requestsPerSecondMean", Arrays.stream(throughput).average().orElse(0));
+        evidence.put("requestsPerSecondP99", peakThroughput);
+        evidence.put("connectionSecondsPerRequest", connectionSecondsPerRequest);
+        evidence.put("throughputDemandCorrelation", correlation(throughput, demand));
+        evidence.put("observedDemandP95", observedDemand);
+        evidence.put("projectedDemandAtPeak", projectedDemand);
+
+        double demandEstimate = Math.max(observedDemand, projectedDemand);
+        int size = (int) Math.ceil(demandEstimate * (1 + properties.getHeadroom()));
+        String reason;
+        if (waiting && size <= current) {
+            size = current + 1;
+            reason = String.format("Threads waited in %.0f%% of samples with acquire p99 %.1f ms; growing by one",
+                    pendingRatio * 100, acquireP99Micros / 1000.0);
+        } else {
+            reason = String.format("Demand estimate %.1f connections (observed p95 %.1f, projected at peak %.1f) plus %.0f%% headroom",
+                    demandEstimate, observedDemand, projectedDemand, properties.getHeadroom() * 100);
+        }
+        size = Math.max(properties.getMinSize(), Math.min(properties.getMaxSize(), size));
+        return new Recommendation(current, size, reason, evidence);
+    }
+
+    private long requestCount() {
+        return meterRegistry.find(REQUESTS_METER).timers().stream().mapToLong(Timer::count).sum();
+    }
+
+    private double usageMillis(String poolName) {
+        return meterRegistry.find(USAGE_METER).tag("pool", poolName).timers().stream()
+                .mapToDouble(timer -> timer.totalTime(TimeUnit.MILLISECONDS)).sum();
+    }
+
+    private static double percentile(double[] values, double percentile) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    // Pearson correlation; 0 when either series is constant
+    private static double correlation(double[] x, double[] y) {
+        double meanX = Arrays.stream(x).average().orElse(0);
+        double meanY = Arrays.stream(y).average().orElse(0);
+        double covariance = 0;
+        double varianceX = 0;
+        double varianceY = 0;
+        for (int i = 0; i < x.length; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            varianceX += (x[i] - meanX) * (x[i] - meanX);
+            varianceY += (y[i] - meanY) * (y[i] - meanY);
+        }
+        return varianceX == 0 || varianceY == 0 ? 0 : covariance / Math.sqrt(varianceX * varianceY);
+    }
+
+    private static final class PoolWindow {
+        private final Deque<Sample> samples = new ArrayDeque<>();
+        private double lastUsageMillis = -1;
+        private long lastAppliedNanos;
+        private String lastApplied;
+    }
+
+    private record Sample(int active, int idle, int pending, double requestsPerSecond, double busyConnections) {
+    }
+
+    private record Recommendation(int currentSize, int size, String reason, Map<String, Object> evidence) {
+    }
+}
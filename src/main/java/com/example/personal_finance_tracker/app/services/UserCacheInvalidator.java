@@ -0,0 +1,61 @@
+package com.example.personal_finance_tracker.app.services;
+
+import com.example.personal_finance_tracker.app.events.UserChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts only the cache keys of the user named in a {@link UserChangedEvent}. Runs after commit,
+ * so a concurrent reader cannot re-cache the pre-change row between the eviction and the commit.
+ */
+@Slf4j
+@Component
+public class UserCacheInvalidator {
+
+    private final CacheManager cacheManager;
+
+    public UserCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("Invalidating caches for user {} ({} -> {})", event.userId(), event.oldUsername(), event.newUsername());
+
+        evict("userById", event.userId());
+        evict("usernameById", event.userId());
+        evictUsername("userByUsername", event);
+        evictUsername("userIdByUsername", event);
+        // Authorities only depend on the role set, which profile, password or expiry changes leave untouched
+        if (event.deleted() || event.rolesChanged() || event.usernameChanged()) {
+            evictUsername("userAuthorities", event);
+        }
+        // allUsers holds a single list entry, so clearing it is the targeted eviction
+        clear("allUsers");
+    }
+
+    private void evictUsername(String cacheName, UserChangedEvent event) {
+        evict(cacheName, event.oldUsername());
+        if (event.usernameChanged()) {
+            evict(cacheName, event.newUsername());
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
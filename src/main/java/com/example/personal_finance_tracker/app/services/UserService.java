@@ -1,5 +1,6 @@
 package com.example.personal_finance_tracker.app.services;
 
+import com.example.personal_finance_tracker.app.events.UserChangedEvent;
 import com.example.personal_finance_tracker.app.exceptions.ResourceNotFoundException;
 import com.example.personal_finance_tracker.app.interfaces.UserInterface;
 import com.example.personal_finance_tracker.app.models.ERole;
@@ -8,11 +9,11 @@ import com.example.personal_finance_tracker.app.models.User;
 import com.example.personal_finance_tracker.app.models.dto.RoleAssignmentDto;
 import com.example.personal_finance_tracker.app.repository.RoleRepo;
 import com.example.personal_finance_tracker.app.repository.UserRepo;
-import jakarta.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.security.core.GrantedAuthority;
@@ -34,15 +35,18 @@ public class UserService implements UserInterface {
     private final UserRepo userRepo;
     private final PasswordEncoder passwordEncoder;
     private final RoleRepo roleRepo;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final String CACHE_MISS_MESSAGE = "Cache MISS for userById: {}";
     private static final String USER_NOT_FOUND_MESSAGE = "User not found with id: ";
     private static final String ROLE_NOT_FOUND_MESSAGE = "Role not found: ";
 
-    public UserService(UserRepo userRepo, PasswordEncoder passwordEncoder, RoleRepo roleRepo) {
+    public UserService(UserRepo userRepo, PasswordEncoder passwordEncoder, RoleRepo roleRepo,
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepo = userRepo;
         this.passwordEncoder = passwordEncoder;
         this.roleRepo = roleRepo;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -104,18 +108,11 @@ public class UserService implements UserInterface {
     }
 
     @Override
-    @Caching(evict = {
-            @CacheEvict(value = "userById", key = "#user.id", condition = "#user.id != null"),
-            @CacheEvict(value = "userByUsername", key = "#user.username"),
-            @CacheEvict(value = "allUsers", allEntries = true),
-            @CacheEvict(value = "usernameById", key = "#user.id", condition = "#user.id != null"),
-            @CacheEvict(value = "userIdByUsername", key = "#user.username"),
-            @CacheEvict(value = "userAuthorities", allEntries = true)
-    })
     public void save(User user) {
         log.info("Saving user with username: {} and evicting related caches", user.getUsername());
         try {
             userRepo.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.updated(user));
         } catch (Exception e) {
             log.error("Error saving user: {}", user.getUsername(), e);
             throw new ResourceNotFoundException("Failed to save user");
@@ -124,6 +121,7 @@ public class UserService implements UserInterface {
 
     @Override
     @Cacheable(value = "allUsers")
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         log.info("Cache MISS for allUsers - retrieving all users from database");
         try {
@@ -222,6 +220,55 @@ public class UserService implements UserInterface {
         }
     }
 
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "userById", key = "#user.id"),
+            @CacheEvict(value = "userByUsername", key = "#user.username")
+    })
+    public void recordSuccessfulLogin(User user) {
+        log.info("Recording successful login for user: {} and evicting related caches", user.getUsername());
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            userRepo.recordSuccessfulLogin(now, user.getUsername());
+            user.setFailedAttempts(0);
+            user.setLockTime(null);
+            user.setLastLoginDate(now);
+        } catch (Exception e) {
+            log.error("Error recording successful login for user: {}", user.getUsername(), e);
+            throw new ResourceNotFoundException("Failed to record successful login");
+        }
+    }
+
+    @Transactional
+    @Caching(evict = {
+            @CacheEvict(value = "userById", key = "#user.id"),
+            @CacheEvict(value = "userByUsername", key = "#user.username"),
+            @CacheEvict(value = "userAuthorities", key = "#user.username")
+    })
+    public void recordFailedLogin(User user) {
+        log.info("Recording failed login for user: {} and evicting related caches", user.getUsername());
+        try {
+            userRepo.recordFailedLogin(maxFailedAttempts, LocalDateTime.now(), user.getUsername());
+        } catch (Exception e) {
+            log.error("Error recording failed login for user: {}", user.getUsername(), e);
+            throw new ResourceNotFoundException("Failed to record failed login");
+        }
+    }
+
+    @Transactional
+    public void upgradePasswordHash(String username, String encodedPassword) {
+        log.info("Storing upgraded password hash for user: {} and evicting related caches", username);
+        try {
+            User user = userRepo.findByUsername(username)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
+            userRepo.updatePasswordHash(encodedPassword, username);
+            eventPublisher.publishEvent(UserChangedEvent.updated(user));
+        } catch (Exception e) {
+            log.error("Error upgrading password hash for user: {}", username, e);
+            throw new ResourceNotFoundException("Failed to upgrade password hash");
+        }
+    }
+
     public boolean isMaxFailedAttemptsReached(User user) {
         log.info("Checking max failed attempts for user: {}", user.getUsername());
         return user.getFailedAttempts() >= maxFailedAttempts;
@@ -229,11 +276,6 @@ public class UserService implements UserInterface {
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "userById", key = "#id"),
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "allUsers", allEntries = true)
-    })
     public boolean updatePassword(Long id, String currentPassword, String newPassword) {
         log.info("Attempting password update for user ID: {} and evicting related caches", id);
         try {
@@ -247,6 +289,7 @@ public class UserService implements UserInterface {
                     log.info("Current password verified for user: {}", user.getUsername());
                     user.setPassword(passwordEncoder.encode(newPassword));
                     userRepo.save(user);
+                    eventPublisher.publishEvent(UserChangedEvent.updated(user));
                     return true;
                 }
                 log.info("Password verification failed for user: {}", user.getUsername());
@@ -259,14 +302,6 @@ public class UserService implements UserInterface {
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "userById", key = "#id"),
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "allUsers", allEntries = true),
-            @CacheEvict(value = "usernameById", key = "#id"),
-            @CacheEvict(value = "userIdByUsername", allEntries = true),
-            @CacheEvict(value = "userAuthorities", allEntries = true)
-    })
     public boolean deleteUser(Long id, String password) {
         log.info("Attempting to delete user with ID: {} and evicting all related caches", id);
         try {
@@ -279,6 +314,7 @@ public class UserService implements UserInterface {
                 if (passwordEncoder.matches(password, user.getPassword())) {
                     log.info("Password verified for user deletion: {}", user.getUsername());
                     userRepo.delete(user);
+                    eventPublisher.publishEvent(UserChangedEvent.deleted(user));
                     return true;
                 }
                 log.info("Password verification failed for user deletion: {}", user.getUsername());
@@ -292,23 +328,12 @@ public class UserService implements UserInterface {
 
     @Override
     @Transactional
-    @Caching(put = {
-            @CachePut(value = "userById", key = "#userId", unless = "#result == null")
-    }, evict = {
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "allUsers", allEntries = true)
-    })
     public User setAccountExpiration(Long userId, boolean expired) {
         return setAccountExpiration(userId, expired, null);
     }
 
     @Override
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "userById", key = "#id"),
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "userAuthorities", allEntries = true)
-    })
     public boolean disableTwoFactorAuth(Long id, String password) {
         log.info("Attempting to disable 2FA for user ID: {} and evicting related caches", id);
         try {
@@ -323,6 +348,7 @@ public class UserService implements UserInterface {
                     user.setTwoFactorEnabled(false);
                     user.setTwoFactorSecret(null);
                     userRepo.save(user);
+                    eventPublisher.publishEvent(UserChangedEvent.updated(user));
                     return true;
                 }
                 log.info("Password verification failed during 2FA disable attempt for user: {}", user.getUsername());
@@ -335,12 +361,6 @@ public class UserService implements UserInterface {
     }
 
     @Transactional
-    @Caching(put = {
-            @CachePut(value = "userById", key = "#roleAssignmentDto.userId", unless = "#result == null")
-    }, evict = {
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "userAuthorities", allEntries = true)
-    })
     public User assignRolesToUser(RoleAssignmentDto roleAssignmentDto) {
         log.info("Assigning roles to user ID: {} and updating caches", roleAssignmentDto.getUserId());
         User user = userRepo.findById(roleAssignmentDto.getUserId())
@@ -366,17 +386,14 @@ public class UserService implements UserInterface {
             }
         }
 
+        Set<ERole> oldRoles = UserChangedEvent.roleNames(user.getRoles());
         user.setRoles(roles);
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(saved.getId(), saved.getUsername(), oldRoles, saved));
+        return saved;
     }
 
     @Transactional
-    @Caching(put = {
-            @CachePut(value = "userById", key = "#userId", unless = "#result == null")
-    }, evict = {
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "userAuthorities", allEntries = true)
-    })
     public User addRoleToUser(Long userId, String roleName) {
         return addRoleToUser(userId, roleName, null);
     }
@@ -397,20 +414,17 @@ public class UserService implements UserInterface {
             Role role = roleRepo.findByName(eRole)
                     .orElseThrow(() -> new ResourceNotFoundException(ROLE_NOT_FOUND_MESSAGE + roleName));
 
+            Set<ERole> oldRoles = UserChangedEvent.roleNames(user.getRoles());
             user.getRoles().add(role);
-            return userRepo.save(user);
+            User saved = userRepo.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.updated(saved.getId(), saved.getUsername(), oldRoles, saved));
+            return saved;
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid role name: " + roleName);
         }
     }
 
     @Transactional
-    @Caching(put = {
-            @CachePut(value = "userById", key = "#userId", unless = "#result == null")
-    }, evict = {
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "userAuthorities", allEntries = true)
-    })
     public User removeRoleFromUser(Long userId, String roleName) {
         return removeRoleFromUser(userId, roleName, null);
     }
@@ -429,8 +443,11 @@ public class UserService implements UserInterface {
         try {
             ERole eRole = ERole.valueOf(roleName.toUpperCase());
 
+            Set<ERole> oldRoles = UserChangedEvent.roleNames(user.getRoles());
             user.getRoles().removeIf(r -> r.getName() == eRole);
-            return userRepo.save(user);
+            User saved = userRepo.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.updated(saved.getId(), saved.getUsername(), oldRoles, saved));
+            return saved;
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Invalid role name: " + roleName);
         }
@@ -448,14 +465,15 @@ public class UserService implements UserInterface {
         }
         
         user.setAccountExpired(expired);
-        return userRepo.save(user);
+        User saved = userRepo.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.updated(saved));
+        return saved;
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"userById", "userByUsername", "allUsers", "usernameById", "userIdByUsername", "userAuthorities"}, allEntries = true)
     public void deleteExpiredAccounts() {
-        log.info("Checking for expired accounts to delete and evicting all caches");
+        log.info("Checking for expired accounts to delete and evicting their caches");
         try {
             List<User> users = userRepo.findAll();
             int deletedCount = 0;
@@ -465,6 +483,7 @@ public class UserService implements UserInterface {
                         && LocalDateTime.now().isAfter(user.getExpirationDate())) {
                     log.info("Deleting expired account: {}", user.getUsername());
                     userRepo.delete(user);
+                    eventPublisher.publishEvent(UserChangedEvent.deleted(user));
                     deletedCount++;
                 }
             }
@@ -494,11 +513,6 @@ public class UserService implements UserInterface {
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(value = "userById", key = "#userId"),
-            @CacheEvict(value = "userByUsername", allEntries = true),
-            @CacheEvict(value = "allUsers", allEntries = true)
-    })
     public void updateProfileImage(Long userId, String base64Image) {
         log.info("Updating profile image for user ID: {} and evicting related caches", userId);
         try {
@@ -506,6 +520,7 @@ public class UserService implements UserInterface {
                     .orElseThrow(() -> new RuntimeException("User not found"));
             user.setProfileImage(base64Image);
             userRepo.save(user);
+            eventPublisher.publishEvent(UserChangedEvent.updated(user));
             log.info("Successfully updated profile image for user ID: {}", userId);
         } catch (Exception e) {
             log.error("Error updating profile image for user ID: {}", userId, e);
@@ -0,0 +1,133 @@
+package com.example.personal_finance_tracker.app.utils;
+
+import com.example.personal_finance_tracker.app.annotations.Encode;
+import com.example.personal_finance_tracker.app.annotations.Loggable;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Field;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Audit metadata of one {@link Loggable} entity type, resolved once from Hibernate's metamodel so the
+ * event listeners never reflect on entity classes or proxies per event. It renders the properties
+ * changed by an update as {@code name: old -> new}; sensitive values are reported as changed only.
+ */
+public final class AuditDescriptor {
+
+    public static final int MAX_CHANGES_LENGTH = 4000;
+    private static final int MAX_VALUE_LENGTH = 100;
+    // Maintained by BaseEntity on every write, so they would appear in every diff
+    private static final Set<String> BOOKKEEPING_PROPERTIES = Set.of("createdAt", "createdBy", "updatedAt", "updatedBy");
+    private static final String[] SENSITIVE_NAME_PARTS = {"password", "secret", "token"};
+
+    private final String entityName;
+    private final String[] propertyNames;
+    private final boolean[] diffed;
+    private final boolean[] masked;
+    private final boolean[] associations;
+    private final PersistenceUnitUtil persistenceUnitUtil;
+
+    private AuditDescriptor(EntityPersister persister, PersistenceUnitUtil persistenceUnitUtil) {
+        Class<?> type = persister.getMappedClass();
+        this.entityName = type.getSimpleName();
+        this.propertyNames = persister.getPropertyNames();
+        this.persistenceUnitUtil = persistenceUnitUtil;
+        Type[] propertyTypes = persister.getPropertyTypes();
+        int versionProperty = persister.isVersioned() ? persister.getVersionProperty() : -1;
+        diffed = new boolean[propertyNames.length];
+        masked = new boolean[propertyNames.length];
+        associations = new boolean[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            diffed[i] = i != versionProperty && !propertyTypes[i].isCollectionType()
+                    && !BOOKKEEPING_PROPERTIES.contains(propertyNames[i]);
+            masked[i] = isSensitive(type, propertyNames[i]);
+            associations[i] = propertyTypes[i].isEntityType();
+        }
+    }
+
+    /**
+     * The descriptor of an entity type, or null if the type is not {@link Loggable}.
+     */
+    public static AuditDescriptor of(EntityPersister persister, PersistenceUnitUtil persistenceUnitUtil) {
+        Class<?> type = persister.getMappedClass();
+        return type != null && type.isAnnotationPresent(Loggable.class)
+                ? new AuditDescriptor(persister, persistenceUnitUtil) : null;
+    }
+
+    public String entityName() {
+        return entityName;
+    }
+
+    /**
+     * Changed properties of an update, or null if there are none or Hibernate has no previous state
+     * (an update of a detached entity without a snapshot).
+     */
+    public String changes(int[] dirtyProperties, Object[] oldState, Object[] state) {
+        if (oldState == null || state == null) {
+            return null;
+        }
+        StringBuilder changes = new StringBuilder();
+        if (dirtyProperties != null) {
+            for (int property : dirtyProperties) {
+                appendChange(changes, property, oldState[property], state[property]);
+            }
+        } else {
+            for (int property = 0; property < propertyNames.length; property++) {
+                if (!Objects.equals(oldState[property], state[property])) {
+                    appendChange(changes, property, oldState[property], state[property]);
+                }
+            }
+        }
+        if (changes.isEmpty()) {
+            return null;
+        }
+        return changes.length() > MAX_CHANGES_LENGTH
+                ? changes.substring(0, MAX_CHANGES_LENGTH - 3) + "..." : changes.toString();
+    }
+
+    private void appendChange(StringBuilder changes, int property, Object oldValue, Object newValue) {
+        if (!diffed[property]) {
+            return;
+        }
+        if (!changes.isEmpty()) {
+            changes.append(", ");
+        }
+        changes.append(propertyNames[property]);
+        if (masked[property]) {
+            changes.append(": changed");
+        } else {
+            changes.append(": ").append(render(property, oldValue)).append(" -> ").append(render(property, newValue));
+        }
+    }
+
+    private String render(int property, Object value) {
+        if (value == null) {
+            return "null";
+        }
+        // Associations are shown by id; the identifier of a proxy is read without initializing it
+        String text = String.valueOf(associations[property] ? persistenceUnitUtil.getIdentifier(value) : value);
+        return text.length() > MAX_VALUE_LENGTH ? text.substring(0, MAX_VALUE_LENGTH) + "..." : text;
+    }
+
+    private static boolean isSensitive(Class<?> type, String propertyName) {
+        String name = propertyName.toLowerCase(Locale.ROOT);
+        for (String part : SENSITIVE_NAME_PARTS) {
+            if (name.contains(part)) {
+                return true;
+            }
+        }
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(propertyName);
+                return field.isAnnotationPresent(Encode.class);
+            } catch (NoSuchFieldException e) {
+                // Declared further up the hierarchy
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.personal_finance_tracker.app.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed-capacity ring of the most recent events, written concurrently by any number of threads.
+ * Adding claims a sequence number with one atomic increment and writes a preallocated slot; the
+ * oldest events are overwritten, nothing is ever allocated on the write path.
+ * <p>
+ * Each slot is stamped with the sequence it holds (a per-slot seqlock), so a reader skips a slot that
+ * is being overwritten instead of returning an event from another lap. A writer claims its slot with a
+ * CAS on the stamp before writing, so two writers a lap apart cannot interleave and label each other's
+ * event. A writer that finds a later lap already in the slot drops its event, which is older anyway;
+ * one that finds an earlier lap still being written waits for that single write to finish.
+ */
+public class EventRing<E> {
+
+    // Stamps: EMPTY before the first write, -(position + 1) while position is written, position once written
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Slot<E>[] slots;
+    private final int mask;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long clearedAt;
+
+    @SuppressWarnings("unchecked")
+    public EventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot<>();
+        }
+    }
+
+    public void add(E event) {
+        long position = sequence.getAndIncrement();
+        Slot<E> slot = slots[(int) position & mask];
+        while (true) {
+            long stamp = slot.stamp.get();
+            if (stamp != EMPTY && stamp < 0) {
+                if (-stamp - 1 > position) {
+                    return;
+                }
+                Thread.onSpinWait();
+            } else if (stamp >= position) {
+                return;
+            } else if (slot.stamp.compareAndSet(stamp, -position - 1)) {
+                break;
+            }
+        }
+        slot.event = event;
+        slot.stamp.set(position);
+    }
+
+    /**
+     * Up to {@code count} of the most recent events, oldest first.
+     */
+    public List<E> latest(int count) {
+        long end = sequence.get();
+        long start = Math.max(Math.max(clearedAt, end - slots.length), end - Math.max(0, count));
+        List<E> result = new ArrayList<>((int) (end - start));
+        for (long position = start; position < end; position++) {
+            Slot<E> slot = slots[(int) position & mask];
+            long stamp = slot.stamp.get();
+            E event = slot.event;
+            if (stamp == position && slot.stamp.get() == position) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        clearedAt = sequence.get();
+    }
+
+    private static final class Slot<E> {
+        private final AtomicLong stamp = new AtomicLong(EMPTY);
+        private volatile E event;
+    }
+}
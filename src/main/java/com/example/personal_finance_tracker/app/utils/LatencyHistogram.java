@@ -0,0 +1,88 @@
+package com.example.personal_finance_tracker.app.utils;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * HDR histogram fed from hot paths. Recording goes to a {@link Recorder}, which is wait-free and does
+ * not allocate because its range is fixed up front (an auto-resizing histogram would grow its counts
+ * array while recording); values above the range are recorded as the maximum. A sampler periodically
+ * moves the recorded interval into a cumulative histogram and a sliding window of the last intervals,
+ * which is what percentiles are read from.
+ */
+public class LatencyHistogram {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final long highestTrackableValue;
+    private final Recorder recorder;
+    private final Histogram total;
+    private final Deque<Histogram> window = new ArrayDeque<>();
+    private final int windowIntervals;
+    private Histogram recycled;
+
+    public LatencyHistogram(long highestTrackableValue, int windowIntervals) {
+        this.highestTrackableValue = Math.max(2, highestTrackableValue);
+        this.recorder = new Recorder(this.highestTrackableValue, SIGNIFICANT_DIGITS);
+        this.total = new Histogram(this.highestTrackableValue, SIGNIFICANT_DIGITS);
+        this.windowIntervals = Math.max(1, windowIntervals);
+    }
+
+    public void record(long value) {
+        recorder.recordValue(Math.max(0, Math.min(value, highestTrackableValue)));
+    }
+
+    /**
+     * Closes the current interval. Called by the sampler only.
+     */
+    public synchronized void roll() {
+        Histogram interval = recorder.getIntervalHistogram(recycled);
+        total.add(interval);
+        window.addLast(interval);
+        recycled = window.size() > windowIntervals ? window.pollFirst() : null;
+    }
+
+    /**
+     * Value at the given percentile over the window, or 0 if nothing was recorded in it.
+     */
+    public synchronized long windowPercentile(double percentile) {
+        return windowHistogram().getValueAtPercentile(percentile);
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("total", summary(total));
+        snapshot.put("window", summary(windowHistogram()));
+        return snapshot;
+    }
+
+    public synchronized void reset() {
+        recorder.reset();
+        total.reset();
+        window.clear();
+        recycled = null;
+    }
+
+    private Histogram windowHistogram() {
+        Histogram merged = new Histogram(highestTrackableValue, SIGNIFICANT_DIGITS);
+        window.forEach(merged::add);
+        return merged;
+    }
+
+    private static Map<String, Object> summary(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("mean", histogram.getTotalCount() == 0 ? 0 : histogram.getMean());
+        summary.put("p50", histogram.getValueAtPercentile(50));
+        summary.put("p90", histogram.getValueAtPercentile(90));
+        summary.put("p99", histogram.getValueAtPercentile(99));
+        summary.put("p999", histogram.getValueAtPercentile(99.9));
+        summary.put("max", histogram.getMaxValue());
+        return summary;
+    }
+}
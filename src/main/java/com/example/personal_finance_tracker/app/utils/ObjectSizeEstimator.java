@@ -0,0 +1,145 @@
+package com.example.personal_finance_tracker.app.utils;
+
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rough retained-size estimate for cached object graphs, assuming a 64-bit JVM with compressed
+ * oops (12-byte headers, 4-byte references, 8-byte alignment). JDK types are sized by shape rather
+ * than by reflection, and uninitialized Hibernate proxies and collections are not traversed.
+ * Objects reachable from several roots are counted once per estimator instance.
+ */
+public class ObjectSizeEstimator {
+
+    private static final int HEADER = 12;
+    private static final int ARRAY_HEADER = 16;
+    private static final int REFERENCE = 4;
+    private static final int MAX_OBJECTS = 100_000;
+    private static final Map<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public long sizeOf(Object root) {
+        long total = 0;
+        Deque<Object> pending = new ArrayDeque<>();
+        push(pending, root);
+        while (!pending.isEmpty() && visited.size() < MAX_OBJECTS) {
+            Object obj = pending.pop();
+            if (obj instanceof Class<?> || obj instanceof Enum<?> || !visited.add(obj)) {
+                continue;
+            }
+            total += shallowSize(obj, pending);
+        }
+        return total;
+    }
+
+    private long shallowSize(Object obj, Deque<Object> pending) {
+        if (obj instanceof String s) {
+            return align(HEADER + 4 + 1 + REFERENCE) + align(ARRAY_HEADER + s.length());
+        }
+        if (obj instanceof Number || obj instanceof Boolean || obj instanceof Character) {
+            return 16;
+        }
+        if (obj instanceof Temporal) {
+            return 48;
+        }
+        if (obj instanceof HibernateProxy || !Hibernate.isInitialized(obj)) {
+            return align(HEADER + 4 * REFERENCE);
+        }
+        if (obj instanceof Collection<?> collection) {
+            collection.forEach(element -> push(pending, element));
+            return align(HEADER + 3 * REFERENCE) + (long) collection.size() * (REFERENCE + 16);
+        }
+        if (obj instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> {
+                push(pending, k);
+                push(pending, v);
+            });
+            return align(HEADER + 4 * REFERENCE) + (long) map.size() * 32;
+        }
+        Class<?> type = obj.getClass();
+        if (type.isArray()) {
+            int length = Array.getLength(obj);
+            Class<?> component = type.getComponentType();
+            if (!component.isPrimitive()) {
+                for (int i = 0; i < length; i++) {
+                    push(pending, Array.get(obj, i));
+                }
+                return align(ARRAY_HEADER + (long) length * REFERENCE);
+            }
+            return align(ARRAY_HEADER + (long) length * primitiveSize(component));
+        }
+        if (type.getName().startsWith("java.")) {
+            return align(HEADER + 2 * REFERENCE);
+        }
+
+        long size = HEADER;
+        for (Field field : fields(type)) {
+            Class<?> fieldType = field.getType();
+            if (fieldType.isPrimitive()) {
+                size += primitiveSize(fieldType);
+            } else {
+                size += REFERENCE;
+                try {
+                    push(pending, field.get(obj));
+                } catch (IllegalAccessException ignored) {
+                    // field stays counted as a reference only
+                }
+            }
+        }
+        return align(size);
+    }
+
+    // ArrayDeque rejects nulls, and a null reference has no size beyond the field itself
+    private static void push(Deque<Object> pending, Object obj) {
+        if (obj != null) {
+            pending.push(obj);
+        }
+    }
+
+    private static Field[] fields(Class<?> type) {
+        return FIELDS.computeIfAbsent(type, t -> {
+            List<Field> result = new ArrayList<>();
+            for (Class<?> c = t; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && field.trySetAccessible()) {
+                        result.add(field);
+                    }
+                }
+            }
+            return result.toArray(new Field[0]);
+        });
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.personal_finance_tracker.app.utils;
+
+import com.google.zxing.common.BitMatrix;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a {@link BitMatrix} straight to a 1-bit grayscale PNG, avoiding the AWT image pipeline
+ * ({@code BufferedImage} + {@code ImageIO}) that zxing's {@code MatrixToImageWriter} relies on.
+ */
+public final class QrPngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final int BIT_DEPTH = 1;
+    private static final int COLOR_TYPE_GRAYSCALE = 0;
+    private static final int FILTER_NONE = 0;
+
+    private QrPngEncoder() {
+    }
+
+    public static byte[] toPng(BitMatrix matrix) throws IOException {
+        int width = matrix.getWidth();
+        int height = matrix.getHeight();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(1024);
+        png.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(BIT_DEPTH);
+        headerData.writeByte(COLOR_TYPE_GRAYSCALE);
+        headerData.writeByte(0); // compression: deflate
+        headerData.writeByte(0); // filter method: adaptive
+        headerData.writeByte(0); // interlace: none
+        writeChunk(png, "IHDR", header.toByteArray());
+
+        writeChunk(png, "IDAT", compressRows(matrix, width, height));
+        writeChunk(png, "IEND", new byte[0]);
+        return png.toByteArray();
+    }
+
+    // Each scanline is a filter byte followed by the pixels packed MSB first; 1 is white, 0 is black
+    private static byte[] compressRows(BitMatrix matrix, int width, int height) throws IOException {
+        int rowBytes = (width + 7) / 8;
+        byte[] row = new byte[rowBytes + 1];
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(compressed, deflater)) {
+            for (int y = 0; y < height; y++) {
+                row[0] = FILTER_NONE;
+                for (int i = 1; i <= rowBytes; i++) {
+                    row[i] = 0;
+                }
+                for (int x = 0; x < width; x++) {
+                    if (!matrix.get(x, y)) {
+                        row[1 + (x >> 3)] |= (byte) (0x80 >>> (x & 7));
+                    }
+                }
+                out.write(row);
+            }
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    private static void writeChunk(ByteArrayOutputStream png, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+
+        DataOutputStream out = new DataOutputStream(png);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
+}
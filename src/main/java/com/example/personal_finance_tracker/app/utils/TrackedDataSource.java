@@ -0,0 +1,80 @@
+package com.example.personal_finance_tracker.app.utils;
+
+import com.example.personal_finance_tracker.app.services.ConnectionHoldTracker;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections that report their borrow and release to {@link ConnectionHoldTracker}.
+ * {@code unwrap(HikariDataSource.class)} still reaches the pool underneath.
+ */
+public class TrackedDataSource extends DelegatingDataSource {
+
+    private final Supplier<ConnectionHoldTracker> tracker;
+
+    public TrackedDataSource(DataSource target, Supplier<ConnectionHoldTracker> tracker) {
+        super(target);
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(super.getConnection(username, password));
+    }
+
+    private Connection track(Connection connection) {
+        ConnectionHoldTracker.Lease lease = tracker.get().borrowed();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TrackedConnection(connection, lease));
+    }
+
+    private final class TrackedConnection implements InvocationHandler {
+
+        private final Connection target;
+        private final ConnectionHoldTracker.Lease lease;
+        private boolean released;
+
+        TrackedConnection(Connection target, ConnectionHoldTracker.Lease lease) {
+            this.target = target;
+            this.lease = lease;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Tracked " + target;
+                case "close":
+                    if (!released) {
+                        released = true;
+                        tracker.get().released(lease);
+                    }
+                    break;
+                default:
+                    lease.observeTransaction();
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.config.AuditProperties;
+import com.example.personal_finance_tracker.app.models.dto.AuditEvent;
+import com.example.personal_finance_tracker.app.repository.AuditLogStore;
+import com.example.personal_finance_tracker.app.services.AuditLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuditLogWriterTest {
+
+	private static final int CAPACITY = 8;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RecordingStore store = new RecordingStore();
+
+	@Test
+	void dropNewestRejectsTheEventThatDoesNotFit() {
+		AuditLogWriter writer = writer(AuditProperties.OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+		fill(writer);
+
+		assertFalse(writer.submit(event(CAPACITY)));
+		assertEquals(1.0, dropped());
+
+		flush(writer);
+		assertEquals(ids(0, CAPACITY), store.writtenIds());
+	}
+
+	@Test
+	void dropOldestMakesRoomForTheNewEvent() {
+		AuditLogWriter writer = writer(AuditProperties.OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+		fill(writer);
+
+		assertTrue(writer.submit(event(CAPACITY)));
+		assertTrue(writer.submit(event(CAPACITY + 1)));
+		assertEquals(2.0, dropped());
+
+		flush(writer);
+		assertEquals(ids(2, CAPACITY + 2), store.writtenIds());
+	}
+
+	@Test
+	void blockDropsTheEventOnceTheTimeoutPasses() {
+		Duration blockTimeout = Duration.ofMillis(50);
+		AuditLogWriter writer = writer(AuditProperties.OverflowPolicy.BLOCK, blockTimeout);
+		fill(writer);
+
+		// No writer thread is running, so nothing makes room
+		long start = System.nanoTime();
+		assertFalse(writer.submit(event(CAPACITY)));
+		assertTrue(System.nanoTime() - start >= blockTimeout.toNanos());
+		assertEquals(1.0, dropped());
+
+		flush(writer);
+		assertEquals(ids(0, CAPACITY), store.writtenIds());
+	}
+
+	@Test
+	void blockSharesOneTimeoutAcrossASubmittedGroup() {
+		Duration blockTimeout = Duration.ofMillis(50);
+		AuditLogWriter writer = writer(AuditProperties.OverflowPolicy.BLOCK, blockTimeout);
+		fill(writer);
+
+		// Waiting per event would take ten timeouts
+		long start = System.nanoTime();
+		assertEquals(0, writer.submitAll(IntStream.range(CAPACITY, CAPACITY + 10).mapToObj(AuditLogWriterTest::event).toList()));
+		long elapsed = System.nanoTime() - start;
+		assertTrue(elapsed >= blockTimeout.toNanos());
+		assertTrue(elapsed < blockTimeout.multipliedBy(5).toNanos(), "waited " + elapsed / 1_000_000 + " ms");
+		assertEquals(10.0, dropped());
+
+		flush(writer);
+		assertEquals(ids(0, CAPACITY), store.writtenIds());
+	}
+
+	@Test
+	void blockWaitsForTheWriterToMakeRoom() throws Exception {
+		AuditLogWriter writer = writer(AuditProperties.OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+		CountDownLatch release = new CountDownLatch(1);
+		store.holdUntil(release);
+		writer.start();
+
+		int total = CAPACITY * 20;
+		Thread producer = new Thread(() -> IntStream.range(0, total).forEach(i -> writer.submit(event(i))));
+		producer.start();
+		// Let the producer run into the full buffer while the first batch is held
+		TimeUnit.MILLISECONDS.sleep(100);
+		release.countDown();
+		producer.join(TimeUnit.SECONDS.toMillis(10));
+
+		writer.stop();
+		assertEquals(0.0, dropped());
+		assertEquals(ids(0, total), store.writtenIds());
+	}
+
+	private AuditLogWriter writer(AuditProperties.OverflowPolicy policy, Duration blockTimeout) {
+		AuditProperties properties = new AuditProperties();
+		properties.setBufferCapacity(CAPACITY);
+		properties.setBatchSize(CAPACITY);
+		properties.setIdleWait(Duration.ofMillis(5));
+		properties.setOverflowPolicy(policy);
+		properties.setBlockTimeout(blockTimeout);
+		return new AuditLogWriter(properties, store, meterRegistry);
+	}
+
+	private static void fill(AuditLogWriter writer) {
+		for (int i = 0; i < CAPACITY; i++) {
+			assertTrue(writer.submit(event(i)));
+		}
+		assertEquals(CAPACITY, writer.pending());
+	}
+
+	// Starting and stopping the writer drains whatever is buffered
+	private static void flush(AuditLogWriter writer) {
+		writer.start();
+		writer.stop();
+	}
+
+	private double dropped() {
+		return meterRegistry.get("audit.events.dropped").counter().count();
+	}
+
+	private static AuditEvent event(int id) {
+		return new AuditEvent(LocalDateTime.now(), "tester", "CREATE", "FinanceEntry", String.valueOf(id), null, null);
+	}
+
+	private static List<String> ids(int fromInclusive, int toExclusive) {
+		return IntStream.range(fromInclusive, toExclusive).mapToObj(String::valueOf).toList();
+	}
+
+	private static class RecordingStore extends AuditLogStore {
+
+		private final List<AuditEvent> written = new CopyOnWriteArrayList<>();
+		private volatile CountDownLatch hold;
+
+		RecordingStore() {
+			super(null);
+		}
+
+		void holdUntil(CountDownLatch latch) {
+			this.hold = latch;
+		}
+
+		@Override
+		public void append(List<AuditEvent> events) {
+			CountDownLatch latch = hold;
+			if (latch != null) {
+				try {
+					latch.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			written.addAll(events);
+		}
+
+		List<String> writtenIds() {
+			return written.stream().map(AuditEvent::entityId).toList();
+		}
+	}
+}
@@ -0,0 +1,221 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.models.EmailStatus;
+import com.example.personal_finance_tracker.app.models.OutboundEmail;
+import com.example.personal_finance_tracker.app.repository.OutboundEmailRepository;
+import com.example.personal_finance_tracker.app.services.EmailDispatcher;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Runs the real dispatcher against its table; only the mail server is replaced. A database of its own keeps
+// the short timeouts below away from the other test contexts.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:email_dispatcher_test",
+		"app.email.enabled=true",
+		"app.email.queue.workers=2",
+		"app.email.queue.poll-interval=100ms",
+		"app.email.queue.max-attempts=3",
+		"app.email.queue.initial-backoff=20ms",
+		"app.email.queue.max-backoff=50ms",
+		"app.email.queue.sending-timeout=500ms"
+})
+class EmailDispatcherTest {
+
+	private static final Duration WAIT = Duration.ofSeconds(15);
+
+	@Autowired
+	private EmailDispatcher dispatcher;
+
+	@Autowired
+	private OutboundEmailRepository repository;
+
+	@Autowired
+	private StubMailSender mailSender;
+
+	@Test
+	void failingSendIsDeadLetteredAfterMaxAttemptsAndReleasesTheRecipient() {
+		String recipient = recipient();
+		mailSender.failTimes("doomed", Integer.MAX_VALUE);
+
+		Long doomed = dispatcher.enqueue(recipient, "doomed", "body").getId();
+		Long next = dispatcher.enqueue(recipient, "next", "body").getId();
+
+		OutboundEmail dead = await(doomed, email -> email.getStatus() == EmailStatus.DEAD);
+		assertEquals(3, dead.getAttempts());
+		assertEquals("SMTP refused doomed", dead.getLastError());
+
+		await(next, email -> email.getStatus() == EmailStatus.SENT);
+		assertEquals(List.of("doomed", "doomed", "doomed", "next"), mailSender.subjectsSentTo(recipient));
+	}
+
+	@Test
+	void laterMessageWaitsForTheRecipientsEarlierOne() {
+		String recipient = recipient();
+		mailSender.failTimes("first", 2);
+
+		Long first = dispatcher.enqueue(recipient, "first", "body").getId();
+		Long second = dispatcher.enqueue(recipient, "second", "body").getId();
+
+		await(second, email -> email.getStatus() == EmailStatus.SENT);
+		OutboundEmail sent = repository.findById(first).orElseThrow();
+		assertEquals(EmailStatus.SENT, sent.getStatus());
+		assertEquals(3, sent.getAttempts());
+		// The second message was not tried while the first was still being retried
+		assertEquals(List.of("first", "first", "first", "second"), mailSender.subjectsSentTo(recipient));
+	}
+
+	@Test
+	void staleSenderCannotOverwriteTheOutcomeOfTheNextAttempt() throws Exception {
+		String recipient = recipient();
+		CountDownLatch release = new CountDownLatch(1);
+		mailSender.holdFirstSend("stuck", release);
+
+		Long id = dispatcher.enqueue(recipient, "stuck", "body").getId();
+		OutboundEmail claimed = await(id, email -> email.getStatus() == EmailStatus.SENDING);
+		LocalDateTime staleClaim = claimed.getClaimedAt();
+		assertNotNull(staleClaim);
+
+		// Past the sending timeout the message is released, counted as an attempt and sent by another worker
+		OutboundEmail sent = await(id, email -> email.getStatus() == EmailStatus.SENT);
+		assertEquals(2, sent.getAttempts());
+
+		// The stuck worker now fails; its outcome must not turn the sent message back into a retry
+		release.countDown();
+		mailSender.awaitCompletedSends(recipient, 2);
+		assertEquals(0, repository.finish(id, EmailStatus.SENDING, staleClaim, EmailStatus.PENDING,
+				LocalDateTime.now(), null, "stale", LocalDateTime.now()));
+		TimeUnit.MILLISECONDS.sleep(300);
+
+		OutboundEmail after = repository.findById(id).orElseThrow();
+		assertEquals(EmailStatus.SENT, after.getStatus());
+		assertEquals(2, after.getAttempts());
+		assertNull(after.getLastError());
+	}
+
+	private OutboundEmail await(Long id, Predicate<OutboundEmail> condition) {
+		long deadline = System.nanoTime() + WAIT.toNanos();
+		OutboundEmail email = null;
+		while (System.nanoTime() < deadline) {
+			email = repository.findById(id).orElseThrow();
+			if (condition.test(email)) {
+				return email;
+			}
+			sleep();
+		}
+		return fail("Email " + id + " did not reach the expected state; last seen " + email);
+	}
+
+	private static void sleep() {
+		try {
+			TimeUnit.MILLISECONDS.sleep(20);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String recipient() {
+		return UUID.randomUUID() + "@example.com";
+	}
+
+	@TestConfiguration
+	static class StubMailConfig {
+
+		// Replaces the SMTP sender; the mail auto-configuration backs off when one is defined
+		@Bean
+		StubMailSender stubMailSender() {
+			return new StubMailSender();
+		}
+	}
+
+	// Fails a subject a set number of times, or holds its first send until released, and records every send
+	static class StubMailSender extends JavaMailSenderImpl {
+
+		private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+		private final Map<String, CountDownLatch> holds = new ConcurrentHashMap<>();
+		private final List<String[]> attempts = new CopyOnWriteArrayList<>();
+		private final List<String> completed = new CopyOnWriteArrayList<>();
+
+		void failTimes(String subject, int times) {
+			failures.put(subject, new AtomicInteger(times));
+		}
+
+		void holdFirstSend(String subject, CountDownLatch release) {
+			holds.put(subject, release);
+		}
+
+		@Override
+		public void send(MimeMessage message) throws MailException {
+			String recipient;
+			String subject;
+			try {
+				recipient = message.getAllRecipients()[0].toString();
+				subject = message.getSubject();
+			} catch (MessagingException e) {
+				throw new IllegalStateException(e);
+			}
+			attempts.add(new String[]{recipient, subject});
+			try {
+				CountDownLatch hold = holds.remove(subject);
+				if (hold != null) {
+					await(hold);
+					throw new MailSendException("SMTP timed out " + subject);
+				}
+				AtomicInteger remaining = failures.get(subject);
+				if (remaining != null && remaining.getAndDecrement() > 0) {
+					throw new MailSendException("SMTP refused " + subject);
+				}
+			} finally {
+				completed.add(recipient);
+			}
+		}
+
+		List<String> subjectsSentTo(String recipient) {
+			return attempts.stream().filter(attempt -> attempt[0].equals(recipient)).map(attempt -> attempt[1]).toList();
+		}
+
+		void awaitCompletedSends(String recipient, int count) {
+			long deadline = System.nanoTime() + WAIT.toNanos();
+			while (completed.stream().filter(recipient::equals).count() < count) {
+				if (System.nanoTime() > deadline) {
+					fail("Only " + completed.stream().filter(recipient::equals).count() + " sends to " + recipient + " completed");
+				}
+				sleep();
+			}
+		}
+
+		private static void await(CountDownLatch latch) {
+			try {
+				latch.await(WAIT.toMillis(), TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
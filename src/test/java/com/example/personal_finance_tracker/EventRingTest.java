@@ -0,0 +1,118 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.utils.EventRing;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventRingTest {
+
+	private static final int WRITERS = 6;
+	private static final int READERS = 2;
+	private static final int PER_WRITER = 200_000;
+
+	@Test
+	void returnsTheMostRecentEventsOldestFirst() {
+		EventRing<Integer> ring = new EventRing<>(4);
+		for (int i = 0; i < 10; i++) {
+			ring.add(i);
+		}
+
+		assertEquals(List.of(6, 7, 8, 9), ring.latest(100));
+		assertEquals(List.of(8, 9), ring.latest(2));
+		assertEquals(List.of(), ring.latest(0));
+	}
+
+	@Test
+	void clearHidesEarlierEvents() {
+		EventRing<Integer> ring = new EventRing<>(8);
+		ring.add(1);
+		ring.add(2);
+		ring.clear();
+		ring.add(3);
+
+		assertEquals(List.of(3), ring.latest(8));
+	}
+
+	@Test
+	void concurrentWritersNeverProduceTornOrForeignEntries() throws Exception {
+		// A tiny ring makes writers lap each other constantly
+		EventRing<long[]> ring = new EventRing<>(4);
+		ExecutorService executor = Executors.newFixedThreadPool(WRITERS + READERS);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean writing = new AtomicBoolean(true);
+		try {
+			List<Future<?>> writers = new ArrayList<>();
+			for (int w = 0; w < WRITERS; w++) {
+				long writer = w;
+				writers.add(executor.submit(() -> {
+					start.await();
+					for (long sequence = 0; sequence < PER_WRITER; sequence++) {
+						// The checksum is written with the fields; a torn entry would disagree
+						ring.add(new long[]{writer, sequence, writer * 31 + sequence});
+					}
+					return null;
+				}));
+			}
+
+			List<Future<Integer>> readers = new ArrayList<>();
+			for (int r = 0; r < READERS; r++) {
+				readers.add(executor.submit(() -> {
+					start.await();
+					int snapshots = 0;
+					while (writing.get()) {
+						assertConsistent(ring.latest(4));
+						snapshots++;
+						Thread.yield();
+					}
+					return snapshots;
+				}));
+			}
+
+			start.countDown();
+			for (Future<?> writer : writers) {
+				writer.get(60, TimeUnit.SECONDS);
+			}
+			writing.set(false);
+			for (Future<Integer> reader : readers) {
+				assertTrue(reader.get(10, TimeUnit.SECONDS) > 0);
+			}
+
+			// Once writers are done every slot holds an event of the last lap
+			List<long[]> last = ring.latest(4);
+			assertEquals(4, last.size());
+			assertConsistent(last);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// Positions in a snapshot increase, and one writer's positions increase with its own sequence, so a
+	// slot labelled with another lap's position shows up as a writer going backwards
+	private static void assertConsistent(List<long[]> snapshot) {
+		Set<Long> seen = new HashSet<>();
+		long[] lastSequence = new long[WRITERS];
+		Arrays.fill(lastSequence, -1);
+		for (long[] event : snapshot) {
+			int writer = (int) event[0];
+			long sequence = event[1];
+			assertEquals(writer * 31L + sequence, event[2], "torn entry");
+			assertTrue(seen.add(writer * (long) PER_WRITER + sequence), "duplicate entry");
+			assertTrue(sequence > lastSequence[writer], "entry out of order for writer " + writer);
+			lastSequence[writer] = sequence;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.example.personal_finance_tracker;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the latency of a non-auth endpoint while a login storm is running.
+ * Fails if the probe p99 exceeds {@code loadtest.maxProbeP99Ms} or logins fail other than by being shed.
+ * Run with {@code mvn test -Dtest=LoginStormLoadTest -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoginStormLoadTest {
+
+	private static final int LOGIN_THREADS = Integer.getInteger("loadtest.loginThreads", 64);
+	private static final int PROBE_THREADS = Integer.getInteger("loadtest.probeThreads", 4);
+	private static final int DURATION_SECONDS = Integer.getInteger("loadtest.durationSeconds", 20);
+	private static final int MAX_PROBE_P99_MS = Integer.getInteger("loadtest.maxProbeP99Ms", 500);
+
+	@LocalServerPort
+	private int port;
+
+	@Test
+	void nonAuthLatencyDuringLoginStorm() throws Exception {
+		ExecutorService clientExecutor = Executors.newFixedThreadPool(LOGIN_THREADS + PROBE_THREADS);
+		try {
+			runStorm(HttpClient.newBuilder()
+					.connectTimeout(Duration.ofSeconds(5))
+					.executor(clientExecutor)
+					.build());
+		} finally {
+			clientExecutor.shutdownNow();
+		}
+	}
+
+	private void runStorm(HttpClient client) throws Exception {
+		HttpRequest login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/signin"))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"testuser\",\"password\":\"password\"}"))
+				.build();
+		HttpRequest probe = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/test/all"))
+				.GET()
+				.build();
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		ConcurrentHashMap<Integer, Integer> loginStatuses = new ConcurrentHashMap<>();
+		List<Long> probeLatencies = Collections.synchronizedList(new ArrayList<>());
+
+		ExecutorService workers = Executors.newFixedThreadPool(LOGIN_THREADS + PROBE_THREADS);
+		CountDownLatch done = new CountDownLatch(LOGIN_THREADS + PROBE_THREADS);
+
+		for (int i = 0; i < LOGIN_THREADS; i++) {
+			workers.submit(() -> {
+				try {
+					while (running.get()) {
+						HttpResponse<Void> response = client.send(login, HttpResponse.BodyHandlers.discarding());
+						loginStatuses.merge(response.statusCode(), 1, Integer::sum);
+					}
+				} catch (Exception e) {
+					loginStatuses.merge(-1, 1, Integer::sum);
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		for (int i = 0; i < PROBE_THREADS; i++) {
+			workers.submit(() -> {
+				try {
+					while (running.get()) {
+						long start = System.nanoTime();
+						client.send(probe, HttpResponse.BodyHandlers.discarding());
+						probeLatencies.add(System.nanoTime() - start);
+					}
+				} catch (Exception e) {
+					// A failed probe simply ends this probe thread
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+
+		TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+		running.set(false);
+		try {
+			done.await(30, TimeUnit.SECONDS);
+		} finally {
+			workers.shutdownNow();
+		}
+
+		List<Long> sorted = new ArrayList<>(probeLatencies);
+		Collections.sort(sorted);
+		System.out.printf("Login storm: %d login threads for %ds, login status counts %s%n",
+				LOGIN_THREADS, DURATION_SECONDS, loginStatuses);
+		System.out.printf("Non-auth probes: %d requests, p50=%.1fms p99=%.1fms max=%.1fms%n",
+				sorted.size(), percentile(sorted, 50), percentile(sorted, 99), percentile(sorted, 100));
+
+		assertFalse(sorted.isEmpty(), "no non-auth probe completed during the login storm");
+		assertNull(loginStatuses.get(-1), "login requests failed at the transport level instead of being shed with 429");
+		assertTrue(percentile(sorted, 99) <= MAX_PROBE_P99_MS,
+				() -> String.format("non-auth p99 %.1fms exceeded %dms during the login storm",
+						percentile(sorted, 99), MAX_PROBE_P99_MS));
+	}
+
+	private static double percentile(List<Long> sorted, double percentile) {
+		if (sorted.isEmpty()) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+		return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1))) / 1_000_000.0;
+	}
+}
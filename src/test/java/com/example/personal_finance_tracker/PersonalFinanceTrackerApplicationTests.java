@@ -1,11 +1,29 @@
 package com.example.personal_finance_tracker;
 
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Started on the embedded server, like the application, so startup-only failures such as an unreadable
+// hibernate-jcache.conf surface here
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class PersonalFinanceTrackerApplicationTests {
 
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	@Test
 	void contextLoads() {
 		/*
@@ -13,4 +31,19 @@ class PersonalFinanceTrackerApplicationTests {
 		 */
 	}
 
+	@Test
+	void secondLevelCacheStartsWithConfiguredRegions() {
+		SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+		assertTrue(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled());
+		assertNotNull(sessionFactory.getCache().getRegion("role"));
+		assertNotNull(sessionFactory.getCache().getRegion("menuItem"));
+		assertNull(sessionFactory.getCache().getRegion("user"));
+
+		// Region sizes come from hibernate-jcache.conf, so a config file that failed to load shows up here
+		CacheManager cacheManager = ((JCacheRegionFactory) sessionFactory.getCache().getRegionFactory()).getCacheManager();
+		CaffeineConfiguration<?, ?> role = cacheManager.getCache("role").getConfiguration(CaffeineConfiguration.class);
+		assertEquals(OptionalLong.of(50), role.getMaximumSize());
+	}
+
 }
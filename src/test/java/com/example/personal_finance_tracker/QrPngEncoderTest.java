@@ -0,0 +1,81 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.services.GAService;
+import com.example.personal_finance_tracker.app.utils.QrPngEncoder;
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.MultiFormatReader;
+import com.google.zxing.Result;
+import com.google.zxing.client.j2se.BufferedImageLuminanceSource;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.warrenstrange.googleauth.GoogleAuthenticatorKey;
+import com.warrenstrange.googleauth.GoogleAuthenticatorQRGenerator;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+// The encoder is checked against a standard PNG reader and zxing's own decoder; neither is used by the application
+class QrPngEncoderTest {
+
+	private static final String SECRET = "JBSWY3DPEHPK3PXP";
+
+	@Test
+	void encodedMatrixDecodesToTheOtpAuthUrl() throws Exception {
+		String url = otpAuthUrl("alice");
+		BitMatrix matrix = new QRCodeWriter().encode(url, BarcodeFormat.QR_CODE, 200, 200);
+
+		BufferedImage image = read(QrPngEncoder.toPng(matrix));
+
+		assertEquals(url, decode(image).getText());
+	}
+
+	@Test
+	void everyPixelMatchesTheMatrixWhenRowsDoNotFillWholeBytes() throws Exception {
+		// 205 pixels per row leaves five padding bits in the last byte of each scanline
+		BitMatrix matrix = new QRCodeWriter().encode(otpAuthUrl("bob"), BarcodeFormat.QR_CODE, 205, 205);
+
+		BufferedImage image = read(QrPngEncoder.toPng(matrix));
+
+		assertEquals(matrix.getWidth(), image.getWidth());
+		assertEquals(matrix.getHeight(), image.getHeight());
+		for (int y = 0; y < matrix.getHeight(); y++) {
+			for (int x = 0; x < matrix.getWidth(); x++) {
+				int expected = matrix.get(x, y) ? 0x000000 : 0xFFFFFF;
+				assertEquals(expected, image.getRGB(x, y) & 0xFFFFFF, "pixel " + x + "," + y);
+			}
+		}
+	}
+
+	@Test
+	void setupQrCodeDecodesToTheOtpAuthUrl() throws Exception {
+		GAService gaService = new GAService(Duration.ofMinutes(1), 10);
+
+		byte[] png = Base64.getDecoder().decode(gaService.generateQRUrl(SECRET, "carol"));
+
+		assertEquals(otpAuthUrl("carol"), decode(read(png)).getText());
+	}
+
+	private static String otpAuthUrl(String username) {
+		return GoogleAuthenticatorQRGenerator.getOtpAuthTotpURL("Personal Finance", username,
+				new GoogleAuthenticatorKey.Builder(SECRET).build());
+	}
+
+	private static BufferedImage read(byte[] png) throws Exception {
+		BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+		assertNotNull(image, "not a readable PNG");
+		return image;
+	}
+
+	private static Result decode(BufferedImage image) throws Exception {
+		return new MultiFormatReader().decode(new BinaryBitmap(new HybridBinarizer(new BufferedImageLuminanceSource(image))));
+	}
+}
@@ -0,0 +1,84 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.security.RateLimitProperties;
+import com.example.personal_finance_tracker.app.security.RateLimiter;
+import com.example.personal_finance_tracker.app.security.RateLimitingFilter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per-request overhead of the rate limiting filter with many distinct client IPs.
+ * Run with {@code mvn test -Dtest=RateLimitingFilterBenchmark -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class RateLimitingFilterBenchmark {
+
+	private static final int DISTINCT_IPS = Integer.getInteger("loadtest.distinctIps", 10_000);
+	private static final int THREADS = Integer.getInteger("loadtest.threads", 8);
+	private static final int REQUESTS_PER_THREAD = Integer.getInteger("loadtest.requestsPerThread", 500_000);
+
+	@Test
+	void filterOverheadWithManyClients() throws Exception {
+		for (RateLimitProperties.Algorithm algorithm : RateLimitProperties.Algorithm.values()) {
+			RateLimitingFilter filter = new RateLimitingFilter(new RateLimiter(properties(algorithm)));
+			run(filter, REQUESTS_PER_THREAD / 5); // warm-up
+			double nanosPerRequest = run(filter, REQUESTS_PER_THREAD);
+			System.out.printf("%s: %d IPs, %d threads, %.1f ns/request (wall clock)%n",
+					algorithm, DISTINCT_IPS, THREADS, nanosPerRequest);
+		}
+	}
+
+	private double run(RateLimitingFilter filter, int requestsPerThread) throws Exception {
+		MockHttpServletRequest[] requests = new MockHttpServletRequest[DISTINCT_IPS];
+		for (int i = 0; i < DISTINCT_IPS; i++) {
+			requests[i] = new MockHttpServletRequest("POST", "/api/auth/forgot-password");
+			requests[i].setRemoteAddr("10." + (i >> 16 & 0xFF) + "." + (i >> 8 & 0xFF) + "." + (i & 0xFF));
+		}
+		FilterChain chain = (request, response) -> { };
+		CountDownLatch done = new CountDownLatch(THREADS);
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		long start = System.nanoTime();
+
+		for (int t = 0; t < THREADS; t++) {
+			int offset = t * 7919;
+			pool.execute(() -> {
+				try {
+					for (int i = 0; i < requestsPerThread; i++) {
+						filter.doFilter(requests[(offset + i) % DISTINCT_IPS], new MockHttpServletResponse(), chain);
+					}
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				} finally {
+					done.countDown();
+				}
+			});
+		}
+		done.await(5, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - start;
+		pool.shutdown();
+		return (double) elapsed / ((long) THREADS * requestsPerThread);
+	}
+
+	private RateLimitProperties properties(RateLimitProperties.Algorithm algorithm) {
+		RateLimitProperties.Policy policy = new RateLimitProperties.Policy();
+		policy.setName("benchmark");
+		policy.setPath("/api/auth/forgot-password");
+		policy.setAlgorithm(algorithm);
+		policy.setLimit(100);
+		policy.setWindow(Duration.ofMinutes(1));
+
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.setPolicies(List.of(policy));
+		return properties;
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import com.example.personal_finance_tracker.app.services.FinanceEntryService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+// Counts borrows per pool through hikaricp.connections.usage, which records each connection as it is returned.
+// The email queue is not polled here, so nothing else borrows while a test runs.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:read_write_routing_test",
+		"app.email.queue.poll-interval=1h"
+})
+class ReadWriteRoutingTest {
+
+	@Autowired
+	@Qualifier("writeDataSource")
+	private HikariDataSource writePool;
+
+	@Autowired
+	@Qualifier("readDataSource")
+	private HikariDataSource readPool;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private FinanceEntryService financeEntryService;
+
+	@Test
+	void poolsAreSeparate() {
+		assertNotEquals(writePool.getPoolName(), readPool.getPoolName());
+	}
+
+	@Test
+	void readOnlyServiceCallBorrowsFromTheReadPool() {
+		long writes = borrows(writePool);
+		long reads = borrows(readPool);
+
+		financeEntryService.findByType("Expense");
+
+		assertEquals(reads + 1, borrows(readPool));
+		assertEquals(writes, borrows(writePool));
+	}
+
+	@Test
+	void writeBorrowsFromTheWritePool() {
+		long writes = borrows(writePool);
+		long reads = borrows(readPool);
+
+		FinanceEntry entry = new FinanceEntry();
+		entry.setLabel("routed write");
+		entry.setType("Expense");
+		entry.setAmount(1.0);
+		entry.setCategory("Food");
+		entry.setDate(LocalDate.now());
+		financeEntryService.create(entry);
+
+		assertEquals(reads, borrows(readPool));
+		assertEquals(writes + 1, borrows(writePool));
+	}
+
+	private long borrows(HikariDataSource pool) {
+		return meterRegistry.get("hikaricp.connections.usage").tag("pool", pool.getPoolName()).timer().count();
+	}
+}
@@ -0,0 +1,125 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.utils.RingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RingBufferTest {
+
+	private static final int PRODUCERS = 4;
+	private static final int CONSUMERS = 3;
+	private static final int PER_PRODUCER = 50_000;
+
+	@Test
+	void roundsCapacityUpToPowerOfTwoAndRejectsWhenFull() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(5);
+		assertEquals(8, buffer.capacity());
+
+		for (int i = 0; i < 8; i++) {
+			assertTrue(buffer.offer(i));
+		}
+		assertFalse(buffer.offer(8));
+		assertEquals(8, buffer.size());
+
+		for (int i = 0; i < 8; i++) {
+			assertEquals(i, buffer.poll());
+		}
+		assertNull(buffer.poll());
+		assertTrue(buffer.isEmpty());
+	}
+
+	@Test
+	void wrapsAroundAcrossLaps() {
+		RingBuffer<Integer> buffer = new RingBuffer<>(4);
+		for (int lap = 0; lap < 10; lap++) {
+			for (int i = 0; i < 3; i++) {
+				assertTrue(buffer.offer(lap * 10 + i));
+			}
+			List<Integer> drained = new ArrayList<>();
+			assertEquals(3, buffer.drainTo(drained, 10));
+			assertEquals(List.of(lap * 10, lap * 10 + 1, lap * 10 + 2), drained);
+		}
+	}
+
+	@Test
+	void concurrentProducersAndConsumersLoseAndDuplicateNothing() throws Exception {
+		// Small enough that producers keep hitting a full buffer and consumers an empty one
+		RingBuffer<Long> buffer = new RingBuffer<>(64);
+		ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			for (int p = 0; p < PRODUCERS; p++) {
+				long producer = p;
+				executor.submit(() -> {
+					start.await();
+					for (long sequence = 0; sequence < PER_PRODUCER; sequence++) {
+						long element = producer << 32 | sequence;
+						while (!buffer.offer(element)) {
+							Thread.yield();
+						}
+					}
+					return null;
+				});
+			}
+
+			long total = (long) PRODUCERS * PER_PRODUCER;
+			AtomicLong consumed = new AtomicLong();
+			List<Future<List<Long>>> consumers = new ArrayList<>();
+			for (int c = 0; c < CONSUMERS; c++) {
+				consumers.add(executor.submit(() -> {
+					start.await();
+					List<Long> seen = new ArrayList<>();
+					while (consumed.get() < total) {
+						Long element = buffer.poll();
+						if (element == null) {
+							Thread.yield();
+							continue;
+						}
+						seen.add(element);
+						consumed.incrementAndGet();
+					}
+					return seen;
+				}));
+			}
+
+			start.countDown();
+			boolean[][] received = new boolean[PRODUCERS][PER_PRODUCER];
+			for (Future<List<Long>> consumer : consumers) {
+				long[] lastSequence = new long[PRODUCERS];
+				Arrays.fill(lastSequence, -1);
+				for (long element : consumer.get(60, TimeUnit.SECONDS)) {
+					int producer = (int) (element >>> 32);
+					int sequence = (int) element;
+					assertFalse(received[producer][sequence], "duplicate " + producer + "/" + sequence);
+					received[producer][sequence] = true;
+					// Every consumer sees each producer's elements in the order they were offered
+					assertTrue(sequence > lastSequence[producer],
+							"producer " + producer + " out of order: " + sequence + " after " + lastSequence[producer]);
+					lastSequence[producer] = sequence;
+				}
+			}
+			for (int producer = 0; producer < PRODUCERS; producer++) {
+				for (int sequence = 0; sequence < PER_PRODUCER; sequence++) {
+					assertTrue(received[producer][sequence], "lost " + producer + "/" + sequence);
+				}
+			}
+			assertNull(buffer.poll());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
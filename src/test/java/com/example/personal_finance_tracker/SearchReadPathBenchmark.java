@@ -0,0 +1,147 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.interfaces.FinanceEntryRepoInterface;
+import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import com.example.personal_finance_tracker.app.models.User;
+import com.example.personal_finance_tracker.app.repository.UserRepo;
+import com.example.personal_finance_tracker.app.security.JwtUtil;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Measures heap allocated and JDBC connection hold time per request on {@code /api/search} against a
+ * user with many entries. Connections are timed from checkout to close, which is what the pool sees.
+ * Run with {@code mvn test -Dtest=SearchReadPathBenchmark -Dloadtest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+@SpringBootTest(properties = {"spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.show_sql=false"})
+@AutoConfigureMockMvc
+class SearchReadPathBenchmark {
+
+	private static final int ENTRIES = Integer.getInteger("loadtest.entries", 20_000);
+	private static final int REQUESTS = Integer.getInteger("loadtest.requests", 200);
+	private static final int PAGE_SIZE = Integer.getInteger("loadtest.pageSize", 50);
+
+	private static final LongAdder CONNECTIONS = new LongAdder();
+	private static final LongAdder HOLD_NANOS = new LongAdder();
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private UserRepo userRepo;
+
+	@Autowired
+	private FinanceEntryRepoInterface financeEntryRepo;
+
+	@Test
+	void searchHeapAndConnectionHoldTime() throws Exception {
+		User user = userRepo.findById(1L).orElseThrow();
+		List<FinanceEntry> entries = new ArrayList<>(ENTRIES);
+		for (int i = 0; i < ENTRIES; i++) {
+			FinanceEntry entry = new FinanceEntry();
+			entry.setLabel("entry " + i);
+			entry.setType(i % 3 == 0 ? "Income" : "Expense");
+			entry.setAmount(1.0 + i % 500);
+			entry.setCategory(i % 2 == 0 ? "Food" : "Rent");
+			entry.setDate(LocalDate.now().minusDays(i % 1000));
+			entry.setUser(user);
+			entries.add(entry);
+		}
+		financeEntryRepo.saveAll(entries);
+		String token = "Bearer " + jwtUtil.generateJwtToken(user.getUsername());
+
+		run(token, REQUESTS / 4); // warm-up
+		CONNECTIONS.reset();
+		HOLD_NANOS.reset();
+		com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+		run(token, REQUESTS);
+		long elapsed = System.nanoTime() - start;
+		long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+		System.out.printf("/api/search over %d entries, page size %d, %d requests:%n", ENTRIES, PAGE_SIZE, REQUESTS);
+		System.out.printf("  heap allocated:        %.1f KiB/request%n", allocated / 1024.0 / REQUESTS);
+		System.out.printf("  connection checkouts:  %.2f/request%n", CONNECTIONS.doubleValue() / REQUESTS);
+		System.out.printf("  connection hold time:  %.2f ms/request%n", HOLD_NANOS.doubleValue() / 1e6 / REQUESTS);
+		System.out.printf("  latency:               %.2f ms/request%n", elapsed / 1e6 / REQUESTS);
+	}
+
+	private void run(String token, int requests) throws Exception {
+		for (int i = 0; i < requests; i++) {
+			mockMvc.perform(post("/api/search")
+							.header("Authorization", token)
+							.param("page", Integer.toString(i % 10))
+							.param("size", Integer.toString(PAGE_SIZE)))
+					.andExpect(status().isOk());
+		}
+	}
+
+	@TestConfiguration
+	static class ConnectionTimingConfig {
+
+		@Bean
+		static BeanPostProcessor connectionTimingPostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource && !(bean instanceof TimingDataSource)
+							&& !(bean instanceof HikariDataSource)
+							? new TimingDataSource(dataSource) : bean;
+				}
+			};
+		}
+	}
+
+	static class TimingDataSource extends DelegatingDataSource {
+
+		TimingDataSource(DataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			Connection connection = super.getConnection();
+			long checkedOut = System.nanoTime();
+			CONNECTIONS.increment();
+			return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+					(proxy, method, args) -> {
+						if (method.getName().equals("close")) {
+							HOLD_NANOS.add(System.nanoTime() - checkedOut);
+						}
+						try {
+							return method.invoke(connection, args);
+						} catch (InvocationTargetException e) {
+							throw e.getTargetException();
+						}
+					});
+		}
+	}
+}
@@ -0,0 +1,165 @@
+package com.example.personal_finance_tracker;
+
+import com.example.personal_finance_tracker.app.config.AuditProperties;
+import com.example.personal_finance_tracker.app.models.FinanceEntry;
+import com.example.personal_finance_tracker.app.models.dto.AuditEvent;
+import com.example.personal_finance_tracker.app.repository.AuditLogStore;
+import com.example.personal_finance_tracker.app.services.AuditLogWriter;
+import com.example.personal_finance_tracker.app.services.LoggingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Audit events are collected per transaction by LoggingService and handed to the writer after commit;
+// the writer is replaced by one that only records what it is given
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transaction_audit_events_test")
+class TransactionAuditEventsTest {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private LoggingService loggingService;
+
+	@Autowired
+	private RecordingAuditLogWriter auditLogWriter;
+
+	@Autowired
+	private AuditProperties auditProperties;
+
+	private TransactionTemplate transaction;
+
+	@BeforeEach
+	void setUp() {
+		transaction = new TransactionTemplate(transactionManager);
+		auditLogWriter.clear();
+	}
+
+	@Test
+	void rolledBackSaveSubmitsNothing() {
+		assertThrows(IllegalStateException.class, () -> transaction.executeWithoutResult(status -> {
+			save("rolled back");
+			throw new IllegalStateException("roll back");
+		}));
+
+		assertEquals(List.of(), auditLogWriter.financeEntrySubmissions());
+	}
+
+	@Test
+	void bulkSaveIsSubmittedAsOneSummaryRow() {
+		int saves = auditProperties.getCoalesceThreshold() + 1;
+		transaction.executeWithoutResult(status -> {
+			loggingService.describeTransaction("Test import");
+			IntStream.range(0, saves).forEach(i -> save("bulk " + i));
+		});
+
+		List<List<AuditEvent>> submissions = auditLogWriter.financeEntrySubmissions();
+		assertEquals(1, submissions.size());
+		assertEquals(1, submissions.get(0).size());
+		AuditEvent summary = submissions.get(0).get(0);
+		assertEquals("*", summary.entityId());
+		assertEquals("Test import: " + saves + " FinanceEntry CREATE", summary.description());
+	}
+
+	@Test
+	void requiresNewInnerTransactionKeepsItsOwnEvents() {
+		TransactionTemplate inner = new TransactionTemplate(transactionManager);
+		inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		List<Long> ids = new ArrayList<>();
+
+		transaction.executeWithoutResult(status -> {
+			ids.add(save("outer"));
+			ids.add(inner.execute(innerStatus -> save("inner")));
+			// The inner transaction has committed on its own, before the outer one
+			assertEquals(List.of(List.of(String.valueOf(ids.get(1)))), auditLogWriter.financeEntryIds());
+		});
+
+		assertEquals(List.of(List.of(String.valueOf(ids.get(1))), List.of(String.valueOf(ids.get(0)))),
+				auditLogWriter.financeEntryIds());
+	}
+
+	private Long save(String label) {
+		FinanceEntry entry = new FinanceEntry();
+		entry.setLabel(label);
+		entry.setType("Expense");
+		entry.setAmount(1.0);
+		entry.setCategory("Food");
+		entry.setDate(LocalDate.now());
+		entityManager.persist(entry);
+		assertNotNull(entry.getId());
+		return entry.getId();
+	}
+
+	@TestConfiguration
+	static class RecordingWriterConfig {
+
+		@Bean
+		@Primary
+		RecordingAuditLogWriter recordingAuditLogWriter(AuditProperties properties, AuditLogStore auditLogStore,
+														MeterRegistry meterRegistry) {
+			return new RecordingAuditLogWriter(properties, auditLogStore, meterRegistry);
+		}
+	}
+
+	// Records each submission as it is handed over instead of buffering it
+	static class RecordingAuditLogWriter extends AuditLogWriter {
+
+		private final List<List<AuditEvent>> submissions = new CopyOnWriteArrayList<>();
+
+		RecordingAuditLogWriter(AuditProperties properties, AuditLogStore auditLogStore, MeterRegistry meterRegistry) {
+			super(properties, auditLogStore, meterRegistry);
+		}
+
+		@Override
+		public boolean submit(AuditEvent event) {
+			submissions.add(List.of(event));
+			return true;
+		}
+
+		@Override
+		public int submitAll(List<AuditEvent> events) {
+			submissions.add(List.copyOf(events));
+			return events.size();
+		}
+
+		void clear() {
+			submissions.clear();
+		}
+
+		// Other work in the context, such as startup data, may submit events of its own
+		List<List<AuditEvent>> financeEntrySubmissions() {
+			return submissions.stream()
+					.map(events -> events.stream().filter(event -> event.entityName().equals("FinanceEntry")).toList())
+					.filter(events -> !events.isEmpty())
+					.toList();
+		}
+
+		List<List<String>> financeEntryIds() {
+			return financeEntrySubmissions().stream()
+					.map(events -> events.stream().map(AuditEvent::entityId).toList())
+					.toList();
+		}
+	}
+}